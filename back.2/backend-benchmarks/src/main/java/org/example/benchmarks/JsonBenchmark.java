@@ -0,0 +1,50 @@
+package org.example.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.BackendApplication.models.Users;
+import org.example.BackendApplication.models.dto.SigninResponseDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialización de las respuestas más comunes, con un ObjectMapper configurado como el de Spring
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<Users> users;
+    private List<SigninResponseDto> signins;
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        users = new ArrayList<>(size);
+        signins = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            users.add(Fixtures.user(i));
+            signins.add(Fixtures.signin(i));
+        }
+    }
+
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] signinResponses() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(signins);
+    }
+}
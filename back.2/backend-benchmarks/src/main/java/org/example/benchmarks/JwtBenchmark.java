@@ -0,0 +1,80 @@
+package org.example.benchmarks;
+
+import org.example.BackendApplication.Security.jwt.ClaimsMapper;
+import org.example.BackendApplication.Security.jwt.JwtUtils;
+import org.example.BackendApplication.Security.jwt.RevocationIndex;
+import org.example.BackendApplication.Security.service.UserDetailsImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Lo que hace cada petición autenticada (validar y leer el token) y cada signin (firmarlo)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String token;
+    private ClaimsMapper claims;
+    private RevocationIndex revocations;
+
+    @Setup
+    public void setup() {
+        jwtUtils = new JwtUtils();
+        UserDetailsImpl user = UserDetailsImpl.build(Fixtures.user(1));
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        token = jwtUtils.generateJwtToken(authentication);
+        claims = jwtUtils.parseToken(token);
+
+        // 10.000 tokens revocados y 1.000 usuarios con versión: el token medido no está entre ellos
+        revocations = new RevocationIndex(10_000, 0.01);
+        Map<Long, Integer> versions = new HashMap<>();
+        for (long id = 2; id < 1_002; id++) {
+            versions.put(id, 1);
+        }
+        Map<String, Instant> revoked = new HashMap<>();
+        Instant expires = Instant.now().plusSeconds(86_400);
+        for (int i = 0; i < 10_000; i++) {
+            revoked.put(UUID.randomUUID().toString(), expires);
+        }
+        revocations.replace(versions, revoked, Instant.now());
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtUtils.getUsernameFromToken(token);
+    }
+
+    // El camino del filtro: una sola verificación de firma que devuelve los claims
+    @Benchmark
+    public ClaimsMapper parseToken() {
+        return jwtUtils.parseToken(token);
+    }
+
+    // Lo que agrega la revocación al filtro por petición
+    @Benchmark
+    public boolean isRevoked() {
+        return revocations.isRevoked(claims.getId(), claims.getTokenVersion(), claims.getJti());
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.benchmarks;
+
+import org.example.BackendApplication.repository.StoredBlobRepository;
+import org.example.BackendApplication.repository.StoredFileRepository;
+import org.example.BackendApplication.service.FileStorageService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Camino de FileUploadController.uploadFile: copia al temporal calculando el sha256 y mueve al
+// almacenamiento por hash. Los repositorios son stubs en memoria para medir solo disco y hash.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UploadBenchmark {
+
+    @Param({"4096", "1048576", "16777216"})
+    public int size;
+
+    private Path uploadDir;
+    private FileStorageService storage;
+    private byte[] content;
+    private long counter;
+    private boolean duplicate;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        uploadDir = Files.createTempDirectory("bench-uploads");
+        storage = new FileStorageService(uploadDir.toString(), false, DataSize.ofMegabytes(50), 100,
+                stub(StoredBlobRepository.class), stub(StoredFileRepository.class),
+                new TransactionTemplate(new NoopTransactionManager()));
+        content = new byte[size];
+        new Random(42).nextBytes(content);
+    }
+
+    // Sin esto el disco se llena con un objeto por invocación; el costo queda fuera de la medición
+    @TearDown(Level.Invocation)
+    public void removeObjects() throws IOException {
+        if (!duplicate) {
+            FileSystemUtils.deleteRecursively(uploadDir.resolve("objects"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanup() throws IOException {
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+
+    // Contenido nuevo: copia + hash + move al objeto
+    @Benchmark
+    public String storeNew() throws IOException {
+        duplicate = false;
+        ByteBuffer.wrap(content).putLong(0, ++counter);
+        return storage.store(new ByteArrayInputStream(content), "foto.jpg");
+    }
+
+    // Contenido repetido: copia + hash, el temporal se descarta y solo se suma una referencia
+    @Benchmark
+    public String storeDuplicate() throws IOException {
+        duplicate = true;
+        return storage.store(new ByteArrayInputStream(content), "foto.jpg");
+    }
+
+    // Referencia: la copia simple que se hacía antes del almacenamiento por hash
+    @Benchmark
+    public long plainCopy() throws IOException {
+        duplicate = true;
+        Path temp = Files.createTempFile(uploadDir, "plain", ".tmp");
+        try {
+            return Files.copy(new ByteArrayInputStream(content), temp, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.delete(temp);
+        }
+    }
+
+    // incrementRefCount devuelve 1 cuando el objeto ya existe (como si la fila estuviera en la base)
+    @SuppressWarnings("unchecked")
+    private <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "incrementRefCount" -> duplicate ? 1 : 0;
+                    case "save" -> args[0];
+                    case "existsByFilename" -> false;
+                    case "existsById" -> true;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> type.getSimpleName() + "Stub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static final class NoopTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.benchmarks;
+
+import org.example.BackendApplication.Security.service.UserDetailsImpl;
+import org.example.BackendApplication.models.Users;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    private Users user;
+    private Users admin;
+
+    @Setup
+    public void setup() {
+        user = Fixtures.user(1);
+        admin = Fixtures.user(10);
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildUser() {
+        return UserDetailsImpl.build(user);
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildAdminTwoRoles() {
+        return UserDetailsImpl.build(admin);
+    }
+}
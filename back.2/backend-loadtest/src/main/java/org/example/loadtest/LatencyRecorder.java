@@ -0,0 +1,98 @@
+package org.example.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Latencias por endpoint; se guardan todas las muestras y se ordenan al final (una corrida son decenas de miles)
+final class LatencyRecorder {
+
+    private final Map<Operation, Samples> samples = new LinkedHashMap<>();
+
+    LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new Samples());
+        }
+    }
+
+    void record(Operation operation, long nanos, int status) {
+        samples.get(operation).add(nanos, status);
+    }
+
+    // El generador no envió la petición porque ya había demasiadas en curso
+    void dropped(Operation operation) {
+        samples.get(operation).dropped();
+    }
+
+    Map<String, Object> report(double seconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        samples.forEach((operation, s) -> {
+            if (s.total() > 0) {
+                report.put(operation.label(), s.summary(seconds));
+            }
+        });
+        return report;
+    }
+
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+        private long dropped;
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        synchronized void add(long latency, int status) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+            statuses.merge(status, 1L, Long::sum);
+            if (status < 200 || status >= 300) {
+                errors++;
+            }
+        }
+
+        synchronized void dropped() {
+            dropped++;
+        }
+
+        synchronized long total() {
+            return size + dropped;
+        }
+
+        synchronized Map<String, Object> summary(double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", size);
+            summary.put("errors", errors);
+            summary.put("dropped", dropped);
+            summary.put("throughput", round(size / seconds));
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("p999Ms", percentile(sorted, 0.999));
+            summary.put("maxMs", sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]));
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            statuses.forEach((status, count) -> byStatus.put(status < 0 ? "error" : String.valueOf(status), count));
+            summary.put("status", byStatus);
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return millis(sorted[Math.max(0, index)]);
+        }
+
+        private static double millis(long nanos) {
+            return round(nanos / 1_000_000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.BackendApplication.BackendApplication;
+import org.example.BackendApplication.Security.service.RoleRegistry;
+import org.example.BackendApplication.models.ERole;
+import org.example.BackendApplication.models.Users;
+import org.example.BackendApplication.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.CommandLinePropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Levanta la aplicación completa sobre H2 en modo PostgreSQL, siembra usuarios por UserRepository
+// y la somete a una mezcla de signin / listado / edición / subida a tasa fija (modelo abierto).
+// Resultado: throughput y p50/p99/p999 por endpoint, en consola y en JSON.
+//
+//   java -jar backend-loadtest.jar --loadtest.users=2000 --loadtest.rate=300 --loadtest.duration=60s
+//
+// Opciones: users, rate (peticiones/s), duration, warmup, mix (signin:10,list:50,update:20,upload:20),
+// upload-size, max-in-flight, tokens (usuarios con sesión para el tráfico autenticado), out (archivo JSON).
+// Cualquier otro argumento va a la aplicación (p. ej. --security.bcrypt.strength=10).
+public class LoadTest {
+
+    static final String PASSWORD = "Carga2025!";
+    private static final int SEED_BATCH = 1000;
+
+    public static void main(String[] args) throws Exception {
+        Path uploadDir = Files.createTempDirectory("loadtest-uploads");
+        Map<String, Object> overrides = overrides(uploadDir);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                // como propiedades por defecto solo para el logging, que se configura antes de los initializers
+                .properties(overrides)
+                .initializers(ctx -> {
+                    // sobre application.properties, pero bajo los argumentos de línea de comando
+                    MutablePropertySources sources = ctx.getEnvironment().getPropertySources();
+                    MapPropertySource source = new MapPropertySource("loadtest", overrides);
+                    if (sources.contains(CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME)) {
+                        sources.addAfter(CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME, source);
+                    } else {
+                        sources.addFirst(source);
+                    }
+                })
+                .run(args);
+        try {
+            new LoadTest().run(context);
+        } finally {
+            context.close();
+            FileSystemUtils.deleteRecursively(uploadDir);
+        }
+    }
+
+    private static Map<String, Object> overrides(Path uploadDir) {
+        Map<String, Object> props = new LinkedHashMap<>();
+        props.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        props.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        props.put("spring.datasource.username", "sa");
+        props.put("spring.datasource.password", "");
+        props.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        props.put("spring.jpa.hibernate.ddl-auto", "create");
+        props.put("server.port", "0");
+        // el actuator escucha en su propio puerto (8081 por defecto): aleatorio para no chocar con otra instancia
+        props.put("management.server.port", "0");
+        props.put("file.uploadDir", uploadDir.toString());
+        props.put("file.storage.migrate-legacy", "false");
+        // todo el tráfico sale de una IP: el limitador de login no debe ser lo que se mide
+        props.put("security.login.ip.capacity", "100000000");
+        props.put("security.login.ip.refill-per-minute", "100000000");
+        props.put("security.login.user.capacity", "100000000");
+        props.put("security.login.user.refill-per-minute", "100000000");
+        props.put("logging.level.root", "WARN");
+        return props;
+    }
+
+    static String username(int i) {
+        return "carga" + i;
+    }
+
+    private void run(ConfigurableApplicationContext context) throws Exception {
+        Environment env = context.getEnvironment();
+        int users = env.getProperty("loadtest.users", Integer.class, 1000);
+        double rate = env.getProperty("loadtest.rate", Double.class, 100.0);
+        Duration duration = env.getProperty("loadtest.duration", Duration.class, Duration.ofSeconds(30));
+        Duration warmup = env.getProperty("loadtest.warmup", Duration.class, Duration.ofSeconds(10));
+        Map<Operation, Integer> mix = parseMix(env.getProperty("loadtest.mix", "signin:10,list:50,update:20,upload:20"));
+        DataSize uploadSize = env.getProperty("loadtest.upload-size", DataSize.class, DataSize.ofKilobytes(64));
+        int maxInFlight = env.getProperty("loadtest.max-in-flight", Integer.class, 2000);
+        int tokenCount = Math.min(users, env.getProperty("loadtest.tokens", Integer.class, 50));
+        Path out = Path.of(env.getProperty("loadtest.out", "loadtest-result.json"));
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String base = "http://localhost:" + port;
+
+        System.out.printf("Sembrando %d usuarios...%n", users);
+        long seedStart = System.nanoTime();
+        seed(context, users);
+        System.out.printf("Sembrado en %.1fs%n", (System.nanoTime() - seedStart) / 1e9);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<String> tokens = signin(client, base, tokenCount);
+        byte[] payload = new byte[(int) uploadSize.toBytes()];
+        new Random(7).nextBytes(payload);
+
+        Operation.Target target = new Operation.Target() {
+            @Override
+            public URI uri(String path) {
+                return URI.create(base + path);
+            }
+
+            @Override
+            public int users() {
+                return users;
+            }
+
+            @Override
+            public String token(Random random) {
+                return tokens.get(random.nextInt(tokens.size()));
+            }
+
+            @Override
+            public byte[] uploadPayload() {
+                return payload;
+            }
+        };
+        OpenModelGenerator generator = new OpenModelGenerator(client, target, mix, rate, maxInFlight);
+
+        System.out.printf("Calentamiento %ds a %.0f req/s...%n", warmup.toSeconds(), rate);
+        generator.run(warmup, new LatencyRecorder(), 1);
+
+        System.out.printf("Medición %ds a %.0f req/s, mezcla %s%n", duration.toSeconds(), rate, mix);
+        LatencyRecorder recorder = new LatencyRecorder();
+        double seconds = generator.run(duration, recorder, 2);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", Instant.now().toString());
+        result.put("users", users);
+        result.put("targetRate", rate);
+        result.put("durationSeconds", duration.toSeconds());
+        result.put("uploadBytes", payload.length);
+        result.put("mix", mix);
+        result.put("endpoints", recorder.report(seconds));
+        print(result);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), result);
+        System.out.println("Resultado en " + out.toAbsolutePath());
+    }
+
+    // Un solo hash para todos: sembrar 10.000 usuarios no debe costar 10.000 BCrypt
+    private void seed(ConfigurableApplicationContext context, int users) {
+        UserRepository repository = context.getBean(UserRepository.class);
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        RoleRegistry roles = context.getBean(RoleRegistry.class);
+        List<Users> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < users; i++) {
+            Users user = new Users("Usuario " + i, username(i), username(i) + "@carga.test", hash);
+            user.setRoles(List.of(roles.get(ERole.USER)));
+            batch.add(user);
+            if (batch.size() == SEED_BATCH) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+    }
+
+    private List<String> signin(HttpClient client, String base, int count) throws IOException, InterruptedException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/auth/signin"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"username\":\"" + username(i) + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Signin de " + username(i) + " falló: " + response.statusCode() + " " + response.body());
+            }
+            JsonNode body = mapper.readTree(response.body());
+            tokens.add(body.get("jwt").asText());
+        }
+        return tokens;
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(kv[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix vacío: " + spec);
+        }
+        return mix;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> result) {
+        System.out.printf("%n%-30s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "req", "errors", "dropped", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        ((Map<String, Map<String, Object>>) result.get("endpoints")).forEach((endpoint, s) ->
+                System.out.printf("%-30s %9s %7s %7s %9s %9s %9s %9s %9s%n", endpoint,
+                        s.get("requests"), s.get("errors"), s.get("dropped"), s.get("throughput"),
+                        s.get("p50Ms"), s.get("p99Ms"), s.get("p999Ms"), s.get("maxMs")));
+    }
+}
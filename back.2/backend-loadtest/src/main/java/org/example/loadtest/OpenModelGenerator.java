@@ -0,0 +1,81 @@
+package org.example.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Modelo abierto: las llegadas siguen un proceso de Poisson a la tasa pedida, sin esperar a que
+// respondan las anteriores (como usuarios reales). La latencia se mide desde el instante en que la
+// petición debía salir, así un servidor lento no "frena" al generador y esconde su propia cola.
+final class OpenModelGenerator {
+
+    private final HttpClient client;
+    private final Operation.Target target;
+    private final Map<Operation, Integer> mix;
+    private final int totalWeight;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenModelGenerator(HttpClient client, Operation.Target target, Map<Operation, Integer> mix,
+                       double ratePerSecond, int maxInFlight) {
+        this.client = client;
+        this.target = target;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+    }
+
+    // Devuelve los segundos efectivos de la fase (incluye esperar a las respuestas pendientes)
+    double run(Duration duration, LatencyRecorder recorder, long seed) {
+        Random random = new Random(seed);
+        double meanIntervalNanos = 1_000_000_000.0 / ratePerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long next = start;
+
+        while (next < end) {
+            long now;
+            while ((now = System.nanoTime()) < next) {
+                LockSupport.parkNanos(next - now);
+            }
+            long intended = next;
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+
+            Operation operation = pick(random);
+            if (inFlight.get() >= maxInFlight) {
+                recorder.dropped(operation);
+                continue;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(operation.request(target, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.decrementAndGet();
+                        recorder.record(operation, System.nanoTime() - intended, response == null ? -1 : response.statusCode());
+                    });
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+
+    private Operation pick(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Mezcla vacía");
+    }
+}
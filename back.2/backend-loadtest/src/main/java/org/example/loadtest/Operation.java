@@ -0,0 +1,79 @@
+package org.example.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Tipos de petición de la mezcla de carga
+enum Operation {
+
+    SIGNIN("POST /api/auth/signin"),
+    LIST("GET /api/usuarios"),
+    UPDATE("PUT /api/usuarios/{username}"),
+    UPLOAD("POST /uploads/solicitud");
+
+    private static final String BOUNDARY = "----carga7MA4YWxkTrZu0gW";
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    HttpRequest request(Target target, Random random) {
+        int user = random.nextInt(target.users());
+        return switch (this) {
+            case SIGNIN -> HttpRequest.newBuilder(target.uri("/api/auth/signin"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"username\":\"" + LoadTest.username(user) + "\",\"password\":\"" + LoadTest.PASSWORD + "\"}"))
+                    .build();
+            case LIST -> HttpRequest.newBuilder(target.uri(random.nextBoolean()
+                            ? "/api/usuarios?limit=50"
+                            : "/api/usuarios?limit=50&q=" + LoadTest.username(random.nextInt(100))))
+                    .header("Authorization", "Bearer " + target.token(random))
+                    .GET()
+                    .build();
+            case UPDATE -> HttpRequest.newBuilder(target.uri("/api/usuarios/" + LoadTest.username(user)))
+                    .header("Authorization", "Bearer " + target.token(random))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(
+                            "{\"email\":\"" + LoadTest.username(user) + "." + SEQUENCE.incrementAndGet() + "@carga.test\"}"))
+                    .build();
+            case UPLOAD -> HttpRequest.newBuilder(target.uri("/uploads/solicitud"))
+                    .header("Authorization", "Bearer " + target.token(random))
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .POST(multipart(target.uploadPayload()))
+                    .build();
+        };
+    }
+
+    // Las primeras bytes del archivo son únicas para que cada subida sea contenido nuevo (sin dedup)
+    private static HttpRequest.BodyPublisher multipart(byte[] payload) {
+        long n = SEQUENCE.incrementAndGet();
+        byte[] head = ("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"carga-" + n + ".bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n"
+                + String.format("%016d", n)).getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+        return HttpRequest.BodyPublishers.ofByteArrays(List.of(head, payload, tail));
+    }
+
+    interface Target {
+        URI uri(String path);
+
+        int users();
+
+        String token(Random random);
+
+        byte[] uploadPayload();
+    }
+}
@@ -2,12 +2,20 @@ package org.example.BackendApplication;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BackendApplication {
 
+    // pasos de arranque que se guardan para /api/stats/startup
+    private static final int STARTUP_STEPS_CAPACITY = 10_000;
+
     public static void main(String[] args) {
-        SpringApplication.run(BackendApplication.class, args);
+        SpringApplication app = new SpringApplication(BackendApplication.class);
+        app.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+        app.run(args);
     }
 
 }
@@ -1,7 +1,10 @@
 package org.example.BackendApplication.Security;
 
 import org.example.BackendApplication.Security.jwt.JwtValidationFilter;
+import org.example.BackendApplication.Security.service.PasswordHashingService;
+import org.example.BackendApplication.Security.service.PooledPasswordEncoder;
 import org.example.BackendApplication.Security.service.UserDetailsServiceImpl;
+import org.example.BackendApplication.models.ERole;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,10 +14,11 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 
@@ -26,14 +30,23 @@ public class SecurityConfig {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
     @Bean
     public JwtValidationFilter authenticationJwtTokenFilter() {
         return new JwtValidationFilter();
     }
 
+    // Sin sesión: el contexto se guarda en la request para que sobreviva a los dispatch async/error
+    @Bean
+    public SecurityContextRepository securityContextRepository() {
+        return new RequestAttributeSecurityContextRepository();
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new PooledPasswordEncoder(passwordHashingService);
     }
 
     @Bean
@@ -41,6 +54,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
         provider.setPasswordEncoder(passwordEncoder());
+        // re-hashea con el costo actual los hashes antiguos tras un login correcto
+        provider.setUserDetailsPasswordService(userDetailsService);
         return provider;
     }
 
@@ -63,10 +78,18 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                .securityContext(context -> context
+                        .securityContextRepository(securityContextRepository())
+                )
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/usuarios/signup").permitAll()
                         .requestMatchers("/api/solicitudes/uploads/**").permitAll()
+                        // scrape de Prometheus y probes de Kubernetes: solo existen en management.server.port,
+                        // que no se publica; en el puerto de la API estas rutas no tienen handler
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        // la importación puede crear cuentas ADMIN: solo para administradores
+                        .requestMatchers(HttpMethod.POST, "/api/usuarios/import").hasAuthority(ERole.ADMIN.name())
 
 
 
@@ -0,0 +1,67 @@
+package org.example.BackendApplication.Security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom de tamaño fijo: "no está" es seguro, "puede estar" se confirma con el conjunto exacto.
+// Lecturas sin bloqueo; no admite borrados (se reconstruye entero al recargar).
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int numBits;
+    private final int hashes;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        int expected = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.max(64, Math.min(optimalBits, Integer.MAX_VALUE - 63));
+        this.hashes = Math.max(1, (int) Math.round((double) numBits / expected * Math.log(2)));
+        this.bits = new AtomicLongArray((numBits + 63) / 64);
+    }
+
+    public void add(String value) {
+        long h1 = fnv1a(value);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashes; i++) {
+            int index = Math.floorMod(h1 + i * h2, numBits);
+            long mask = 1L << index;
+            bits.getAndAccumulate(index >>> 6, mask, (current, m) -> current | m);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = fnv1a(value);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashes; i++) {
+            int index = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getNumBits() {
+        return numBits;
+    }
+
+    public int getHashes() {
+        return hashes;
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Finalizador de SplitMix64: segundo hash para el doble hashing (h1 + i*h2)
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) | 1;
+    }
+}
@@ -1,10 +1,23 @@
 package org.example.BackendApplication.Security.jwt;
 
+import java.time.Instant;
 import java.util.List;
 
 public class ClaimsMapper {
+    private Long id;
     private String username;
     private List<String> roles;
+    private String jti;
+    private int tokenVersion;
+    private Instant expiresAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
 
     public String getUsername() {
         return username;
@@ -21,4 +34,28 @@ public class ClaimsMapper {
     public void setRoles(List<String> roles) {
         this.roles = roles;
     }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
 }
@@ -1,11 +1,17 @@
 package org.example.BackendApplication.Security.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletResponse;
+import org.example.BackendApplication.Security.service.TokenRevocationService;
 import org.example.BackendApplication.Security.service.UserDetailsImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
@@ -13,18 +19,33 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtUtils.class);
+
     //private String jwtSecret = "tu_clave_secreta";
 
     private static final String SECRET = "claveSuperSecretaClaveSuperSecreta1234";
     private static final long EXPIRATION_TIME = 86400000L; // 1 día
 
+    // claim con la versión de tokens del usuario; subirla revoca todos los anteriores
+    public static final String TOKEN_VERSION_CLAIM = "tv";
+
+    // null fuera del contexto de Spring (benchmarks): los tokens salen con versión 0
+    @Autowired(required = false)
+    private TokenRevocationService tokenRevocationService;
+
     private final Key SECRET_KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
 
+    // El parser es inmutable y thread-safe: se construye una sola vez
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(SECRET_KEY)
+            .build();
+
 
     public String generateJwtToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
@@ -35,9 +56,14 @@ public class JwtUtils {
                 .collect(Collectors.toList());
 
 
+        int tokenVersion = tokenRevocationService == null ? 0 : tokenRevocationService.currentVersion(userPrincipal.getId());
+
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userPrincipal.getUsername())
+                .claim("id", userPrincipal.getId())
                 .claim("roles", roles)
+                .claim(TOKEN_VERSION_CLAIM, tokenVersion)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(SECRET_KEY, SignatureAlgorithm.HS256)
@@ -54,24 +80,44 @@ public class JwtUtils {
 
     public boolean validateJwtToken(String authToken, HttpServletResponse response) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(SECRET_KEY)
-                    .build()
-                    .parseClaimsJws(authToken);
+            parser.parseClaimsJws(authToken);
             return true;
         } catch (Exception e) {
-            System.out.println("❌ Token inválido: " + e.getMessage());
+            // token inválido = error del cliente, ya contado en auth.jwt.rejected: sin traza y solo en DEBUG
+            log.debug("Token inválido: {}", e.getMessage());
             return false;
         }
     }
 
 
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+
+    // Verifica firma y expiración una sola vez; null si el token no es válido
+    public ClaimsMapper parseToken(String token) {
+        try {
+            Claims claims = getClaims(token);
+
+            ClaimsMapper mapper = new ClaimsMapper();
+            mapper.setId(claims.get("id", Long.class));
+            mapper.setUsername(claims.getSubject());
+            mapper.setJti(claims.getId());
+            // tokens emitidos antes de existir el claim cuentan como versión 0
+            Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+            mapper.setTokenVersion(tokenVersion == null ? 0 : tokenVersion);
+            mapper.setExpiresAt(claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+            Object roles = claims.get("roles");
+            if (roles instanceof List<?> list) {
+                mapper.setRoles(list.stream().map(String::valueOf).collect(Collectors.toList()));
+            } else {
+                mapper.setRoles(List.of());
+            }
+            return mapper;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
 
@@ -1,19 +1,32 @@
 package org.example.BackendApplication.Security.jwt;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.example.BackendApplication.Security.service.TokenRevocationService;
+import org.example.BackendApplication.Security.service.UserDetailsImpl;
 import org.example.BackendApplication.Security.service.UserDetailsServiceImpl;
+import org.example.BackendApplication.logging.RequestMdcFilter;
+import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 public class JwtValidationFilter extends OncePerRequestFilter {
 
@@ -23,6 +36,40 @@ public class JwtValidationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private SecurityContextRepository securityContextRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer validationTimer;
+    private Timer principalTimer;
+    private Counter invalidTokens;
+    private Counter revokedTokens;
+    private Counter unknownUsers;
+
+    // true: el principal se arma solo con los claims del token, sin consultar la BD
+    @Value("${jwt.trust-claims:false}")
+    private boolean trustClaims;
+
+    @PostConstruct
+    void initMetrics() {
+        // firma + parseo del token + chequeo de revocación en memoria
+        validationTimer = Timer.builder("auth.jwt.validation")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        // armado del principal: claims (sin BD) o usuario (caché de UserDetails / consulta)
+        principalTimer = Timer.builder("auth.jwt.principal")
+                .tag("fuente", trustClaims ? "claims" : "usuario")
+                .register(meterRegistry);
+        invalidTokens = Counter.builder("auth.jwt.rejected").tag("motivo", "invalido").register(meterRegistry);
+        revokedTokens = Counter.builder("auth.jwt.rejected").tag("motivo", "revocado").register(meterRegistry);
+        unknownUsers = Counter.builder("auth.jwt.rejected").tag("motivo", "usuario_desconocido").register(meterRegistry);
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
@@ -41,18 +88,46 @@ public class JwtValidationFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            if (jwtUtils.validateToken(token)) {
+            long start = System.nanoTime();
+            ClaimsMapper claims = jwtUtils.parseToken(token);
+            boolean revoked = claims != null && tokenRevocationService.isRevoked(claims);
+            long parsed = System.nanoTime();
+            validationTimer.record(parsed - start, TimeUnit.NANOSECONDS);
+            if (claims == null) {
+                invalidTokens.increment();
+            } else if (revoked) {
+                revokedTokens.increment();
+            } else {
+                UserDetails userDetails = resolveUser(claims);
+                principalTimer.record(System.nanoTime() - parsed, TimeUnit.NANOSECONDS);
+                if (userDetails == null) {
+                    unknownUsers.increment();
+                } else {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                String username = jwtUtils.getUsernameFromToken(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContext context = SecurityContextHolder.createEmptyContext();
+                    context.setAuthentication(authentication);
+                    SecurityContextHolder.setContext(context);
+                    securityContextRepository.saveContext(context, request, response);
+                    // lo quita RequestMdcFilter al terminar la petición
+                    MDC.put(RequestMdcFilter.USERNAME, userDetails.getUsername());
+                }
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolveUser(ClaimsMapper claims) {
+        if (trustClaims) {
+            return UserDetailsImpl.fromClaims(claims);
+        }
+        try {
+            return userDetailsService.loadUserByUsername(claims.getUsername());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package org.example.BackendApplication.Security.jwt;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Estado de revocación en memoria que consulta el filtro JWT en cada petición, sin ir a la BD:
+// versión mínima de token por usuario + Bloom de jti revocados confirmado con el conjunto exacto.
+public class RevocationIndex {
+
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+
+    private final ConcurrentHashMap<Long, Integer> versions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloom;
+
+    private final LongAdder bloomHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public RevocationIndex(int expectedTokens, double falsePositiveRate) {
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloom = new BloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    public boolean isRevoked(Long userId, int tokenVersion, String jti) {
+        if (userId != null) {
+            Integer minimum = versions.get(userId);
+            if (minimum != null && tokenVersion < minimum) {
+                return true;
+            }
+        }
+        if (jti != null && bloom.mightContain(jti)) {
+            bloomHits.increment();
+            if (revokedTokens.containsKey(jti)) {
+                return true;
+            }
+            falsePositives.increment();
+        }
+        return false;
+    }
+
+    public int version(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    // Las versiones solo suben: un valor viejo leído de la BD no deshace una revocación local
+    public void updateVersion(Long userId, int version) {
+        versions.merge(userId, version, Math::max);
+    }
+
+    // Primero el conjunto exacto y después el Bloom: quien vea el bit ya ve la entrada
+    public synchronized void revoke(String jti, Instant expiresAt) {
+        revokedTokens.put(jti, expiresAt);
+        bloom.add(jti);
+    }
+
+    // Recarga desde la tabla; el Bloom se arma de cero para soltar los jti ya expirados
+    public synchronized void replace(Map<Long, Integer> storedVersions, Map<String, Instant> storedTokens, Instant now) {
+        storedVersions.forEach(this::updateVersion);
+        revokedTokens.putAll(storedTokens);
+        revokedTokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        BloomFilter fresh = new BloomFilter(Math.max(expectedTokens, revokedTokens.size() * 2), falsePositiveRate);
+        revokedTokens.keySet().forEach(fresh::add);
+        bloom = fresh;
+    }
+
+    public Map<String, Object> stats() {
+        BloomFilter current = bloom;
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("usersWithVersion", versions.size());
+        res.put("revokedTokens", revokedTokens.size());
+        res.put("bloomBits", current.getNumBits());
+        res.put("bloomHashes", current.getHashes());
+        res.put("bloomHits", bloomHits.sum());
+        res.put("bloomFalsePositives", falsePositives.sum());
+        return res;
+    }
+}
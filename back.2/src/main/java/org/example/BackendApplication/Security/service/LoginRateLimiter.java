@@ -0,0 +1,142 @@
+package org.example.BackendApplication.Security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Token buckets por IP y por username delante de signin/signup, para no gastar BCrypt en scripts que reintentan
+@Component
+public class LoginRateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final BucketConfig ipConfig;
+    private final BucketConfig userConfig;
+    private final boolean trustForwardedFor;
+
+    private final AtomicLong throttledIp = new AtomicLong();
+    private final AtomicLong throttledUser = new AtomicLong();
+
+    public LoginRateLimiter(@Value("${security.login.ip.capacity:60}") int ipCapacity,
+                            @Value("${security.login.ip.refill-per-minute:60}") int ipRefill,
+                            @Value("${security.login.user.capacity:10}") int userCapacity,
+                            @Value("${security.login.user.refill-per-minute:5}") int userRefill,
+                            @Value("${security.login.max-buckets:100000}") long maxBuckets,
+                            @Value("${security.login.idle-expiry:15m}") Duration idleExpiry,
+                            @Value("${security.login.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        this.ipConfig = new BucketConfig(ipCapacity, ipRefill);
+        this.userConfig = new BucketConfig(userCapacity, userRefill);
+        this.trustForwardedFor = trustForwardedFor;
+        // un bucket inactivo vuelve a estar lleno, así que expulsarlo no pierde información
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    // 0 si se permite el intento; si no, segundos a esperar para el header Retry-After
+    public long tryAcquireSignin(HttpServletRequest request, String username) {
+        long wait = bucket("ip:" + clientIp(request), ipConfig).tryConsume();
+        if (wait > 0) {
+            throttledIp.incrementAndGet();
+            return wait;
+        }
+        if (username != null) {
+            wait = bucket("user:" + username.toLowerCase(), userConfig).tryConsume();
+            if (wait > 0) {
+                throttledUser.incrementAndGet();
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    public long tryAcquireSignup(HttpServletRequest request) {
+        long wait = bucket("ip:" + clientIp(request), ipConfig).tryConsume();
+        if (wait > 0) {
+            throttledIp.incrementAndGet();
+        }
+        return wait;
+    }
+
+    // un login correcto no debe acercar al usuario legítimo al bloqueo
+    public void onSigninSuccess(String username) {
+        if (username != null) {
+            TokenBucket bucket = buckets.getIfPresent("user:" + username.toLowerCase());
+            if (bucket != null) {
+                bucket.refund();
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("buckets", buckets.estimatedSize());
+        res.put("throttledByIp", throttledIp.get());
+        res.put("throttledByUser", throttledUser.get());
+        return res;
+    }
+
+    private TokenBucket bucket(String key, BucketConfig config) {
+        return buckets.get(key, k -> new TokenBucket(config));
+    }
+
+    public String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma >= 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private record BucketConfig(int capacity, double tokensPerNano) {
+        BucketConfig(int capacity, int refillPerMinute) {
+            this(capacity, refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1));
+        }
+    }
+
+    private record BucketState(double tokens, long refilledAt) {
+    }
+
+    // Sin locks: el estado es inmutable y se reemplaza con CAS
+    static final class TokenBucket {
+        private final BucketConfig config;
+        private final AtomicReference<BucketState> state;
+
+        TokenBucket(BucketConfig config) {
+            this.config = config;
+            this.state = new AtomicReference<>(new BucketState(config.capacity(), System.nanoTime()));
+        }
+
+        long tryConsume() {
+            while (true) {
+                BucketState current = state.get();
+                long now = System.nanoTime();
+                double tokens = Math.min(config.capacity(),
+                        current.tokens() + (now - current.refilledAt()) * config.tokensPerNano());
+                if (tokens < 1) {
+                    double missingNanos = (1 - tokens) / config.tokensPerNano();
+                    return Math.max(1, (long) Math.ceil(missingNanos / TimeUnit.SECONDS.toNanos(1)));
+                }
+                if (state.compareAndSet(current, new BucketState(tokens - 1, now))) {
+                    return 0;
+                }
+            }
+        }
+
+        void refund() {
+            state.updateAndGet(s -> new BucketState(Math.min(config.capacity(), s.tokens() + 1), s.refilledAt()));
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package org.example.BackendApplication.Security.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// BCrypt aislado en un pool propio: los hilos de Tomcat esperan, pero la CPU usada queda acotada
+@Service
+public class PasswordHashingService {
+
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 14;
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    // las importaciones masivas solo pueden ocupar la mitad de la cola; el resto queda para logins
+    private final Semaphore bulkPermits;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final AtomicLong hashCount = new AtomicLong();
+
+    private final Timer hashTimer;
+    private final Timer queueTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(@Value("${security.hashing.threads:0}") int threads,
+                                  @Value("${security.hashing.queue-capacity:256}") int queueCapacity,
+                                  @Value("${security.bcrypt.strength:10}") int fixedStrength,
+                                  @Value("${security.bcrypt.target-ms:250}") long targetMs,
+                                  MeterRegistry registry) {
+        this.strength = fixedStrength > 0 ? fixedStrength : calibrate(targetMs);
+        this.bcrypt = new BCryptPasswordEncoder(strength);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.bulkPermits = new Semaphore(Math.max(1, queueCapacity / 2));
+
+        this.hashTimer = Timer.builder("auth.bcrypt.hash")
+                .tag("strength", String.valueOf(strength))
+                .publishPercentileHistogram()
+                .register(registry);
+        // tiempo en cola antes de que un hilo bcrypt tome la tarea: crece primero cuando el pool se satura
+        this.queueTimer = Timer.builder("auth.bcrypt.queue")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejectedCounter = Counter.builder("auth.bcrypt.rejected").register(registry);
+        ExecutorServiceMetrics.monitor(registry, executor, "bcrypt");
+    }
+
+    // Solo con security.bcrypt.strength=0: mayor costo cuyo hash no supera el objetivo en este hardware.
+    // Se mide únicamente el costo mínimo y se extrapola (cada +1 duplica el tiempo), así el arranque
+    // paga ~2 hashes de costo 10 y no la serie completa 10..14, que llevaba 1-2 s.
+    private static int calibrate(long targetMs) {
+        BCryptPasswordEncoder candidate = new BCryptPasswordEncoder(MIN_STRENGTH);
+        candidate.encode("calibracion");
+        long start = System.nanoTime();
+        candidate.encode("calibracion");
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        int chosen = MIN_STRENGTH;
+        long estimated = elapsedNanos * 2;
+        while (chosen < MAX_STRENGTH && estimated <= TimeUnit.MILLISECONDS.toNanos(targetMs)) {
+            chosen++;
+            estimated *= 2;
+        }
+        return chosen;
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> timed(() -> bcrypt.encode(rawPassword))));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(() -> timed(() -> bcrypt.matches(rawPassword, encodedPassword))));
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return bcrypt.upgradeEncoding(encodedPassword);
+    }
+
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String raw : rawPasswords) {
+                bulkPermits.acquire();
+                try {
+                    futures.add(submit(() -> {
+                        try {
+                            return timed(() -> bcrypt.encode(raw));
+                        } finally {
+                            bulkPermits.release();
+                        }
+                    }));
+                } catch (RuntimeException e) {
+                    bulkPermits.release();
+                    throw e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Hash de contraseñas interrumpido", e);
+        }
+
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        for (Future<String> future : futures) {
+            hashes.add(await(future));
+        }
+        return hashes;
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        long queued = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueTimer.record(System.nanoTime() - queued, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            rejectedCounter.increment();
+            throw new HashingCapacityException();
+        }
+    }
+
+    private <T> T timed(Callable<T> task) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return task.call();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            hashNanos.addAndGet(elapsed);
+            hashCount.incrementAndGet();
+            hashTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Hash de contraseñas interrumpido", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Error al hashear contraseñas", e.getCause());
+        }
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    public Map<String, Object> stats() {
+        long count = hashCount.get();
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("strength", strength);
+        res.put("poolSize", executor.getPoolSize());
+        res.put("active", executor.getActiveCount());
+        res.put("queueDepth", executor.getQueue().size());
+        res.put("queueRemaining", executor.getQueue().remainingCapacity());
+        res.put("completed", executor.getCompletedTaskCount());
+        res.put("rejected", rejected.get());
+        res.put("avgHashMs", count == 0 ? 0.0 : hashNanos.get() / 1_000_000.0 / count);
+        return res;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static class HashingCapacityException extends RuntimeException {
+        public HashingCapacityException() {
+            super("Servicio de autenticación saturado, intente nuevamente");
+        }
+    }
+}
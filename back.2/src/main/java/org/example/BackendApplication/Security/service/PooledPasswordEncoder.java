@@ -0,0 +1,27 @@
+package org.example.BackendApplication.Security.service;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordHashingService hashingService;
+
+    public PooledPasswordEncoder(PasswordHashingService hashingService) {
+        this.hashingService = hashingService;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingService.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashingService.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return hashingService.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.BackendApplication.Security.service;
+
+import org.example.BackendApplication.models.ERole;
+import org.example.BackendApplication.models.Role;
+import org.example.BackendApplication.repository.RoleRepository;
+import org.example.BackendApplication.service.DataVersions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Los roles son un enum fijo: se leen (y se crean si faltan) una vez en la carga inicial y
+// desde ahí se resuelven en memoria, sin consultar la tabla role en cada alta/edición.
+// No se carga al crear el bean para que el refresh del contexto no dependa de la base.
+@Component
+public class RoleRegistry {
+
+    // una sola instancia de GrantedAuthority por rol, compartida por todos los UserDetailsImpl
+    private static final Map<String, GrantedAuthority> AUTHORITIES;
+
+    static {
+        Map<String, GrantedAuthority> authorities = new HashMap<>();
+        for (ERole role : ERole.values()) {
+            authorities.put(role.name(), new SimpleGrantedAuthority(role.name()));
+        }
+        AUTHORITIES = Collections.unmodifiableMap(authorities);
+    }
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    private volatile Map<ERole, Role> byName = Collections.emptyMap();
+    private volatile Map<Long, Role> byId = Collections.emptyMap();
+    private volatile List<Role> all = List.of();
+    private volatile boolean loaded;
+
+    public synchronized void load() {
+        Map<ERole, Role> names = new EnumMap<>(ERole.class);
+        for (Role role : roleRepository.findAll()) {
+            names.put(role.getName(), role);
+        }
+        for (ERole role : ERole.values()) {
+            if (!names.containsKey(role)) {
+                names.put(role, roleRepository.save(new Role(role)));
+            }
+        }
+        Map<Long, Role> ids = new HashMap<>();
+        names.values().forEach(role -> ids.put(role.getId(), role));
+
+        byName = Collections.unmodifiableMap(names);
+        byId = Collections.unmodifiableMap(ids);
+        all = List.copyOf(names.values());
+        loaded = true;
+        // GET /api/role sirve esta lista: nuevo ETag cada vez que se recarga
+        dataVersions.bump(DataVersions.ROLES);
+    }
+
+    // Si llega una petición antes de que termine la carga inicial
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    public Role get(ERole name) {
+        ensureLoaded();
+        Role role = byName.get(name);
+        if (role == null) {
+            throw new RuntimeException("Error: Rol no encontrado.");
+        }
+        return role;
+    }
+
+    public Optional<Role> findById(Long id) {
+        ensureLoaded();
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<Role> all() {
+        ensureLoaded();
+        return all;
+    }
+
+    public static GrantedAuthority authority(ERole role) {
+        return AUTHORITIES.get(role.name());
+    }
+
+    // Los roles vienen como texto en el JWT; uno desconocido no se descarta, pero no se comparte
+    public static GrantedAuthority authority(String role) {
+        GrantedAuthority authority = AUTHORITIES.get(role);
+        return authority != null ? authority : new SimpleGrantedAuthority(role);
+    }
+}
@@ -2,7 +2,6 @@ package org.example.BackendApplication.Security.service;
 
 import org.example.BackendApplication.models.ERole;
 import org.example.BackendApplication.models.Role;
-import org.example.BackendApplication.repository.RoleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -10,11 +9,10 @@ import org.springframework.stereotype.Service;
 public class RoleService {
 
     @Autowired
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
 
     public Role findByName(ERole name) {
-        return roleRepository.findByName(name)
-                .orElseThrow(() -> new RuntimeException("Error: Rol no encontrado."));
+        return roleRegistry.get(name);
     }
 
     public Role findByNameString(String name) {
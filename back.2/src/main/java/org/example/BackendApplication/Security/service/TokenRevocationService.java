@@ -0,0 +1,125 @@
+package org.example.BackendApplication.Security.service;
+
+import org.example.BackendApplication.Security.jwt.ClaimsMapper;
+import org.example.BackendApplication.Security.jwt.RevocationIndex;
+import org.example.BackendApplication.models.RevokedToken;
+import org.example.BackendApplication.models.TokenVersion;
+import org.example.BackendApplication.repository.RevokedTokenRepository;
+import org.example.BackendApplication.repository.TokenVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+// Revocación de JWT sin consultar la BD por petición. Las tablas token_version / token_revocado son la
+// fuente de verdad; cada instancia las recarga al arrancar y cada security.revocation.reload-interval,
+// así que una revocación hecha en otra instancia tarda como máximo ese intervalo en aplicarse aquí.
+@Service
+public class TokenRevocationService implements SmartLifecycle {
+
+    @Autowired
+    private TokenVersionRepository tokenVersionRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final RevocationIndex index;
+    private volatile boolean running;
+
+    public TokenRevocationService(@Value("${security.revocation.expected-tokens:10000}") int expectedTokens,
+                                  @Value("${security.revocation.bloom-fpp:0.01}") double falsePositiveRate) {
+        this.index = new RevocationIndex(expectedTokens, falsePositiveRate);
+    }
+
+    // Carga inicial síncrona en el arranque de lifecycle, antes de que Tomcat atienda: un token revocado ya
+    // debe ser rechazado en la primera petición. No en un @PostConstruct: el refresh sin BD del entrenamiento
+    // CDS (spring.context.exit=onRefresh) termina antes de esta fase y no debe tocar la base.
+    @Override
+    public void start() {
+        reload();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // misma fase que SequenceInitializer: antes del servidor web
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Scheduled(initialDelayString = "${security.revocation.reload-interval:30s}",
+            fixedDelayString = "${security.revocation.reload-interval:30s}")
+    public void reload() {
+        Instant now = Instant.now();
+        Map<Long, Integer> versions = new HashMap<>();
+        for (TokenVersion version : tokenVersionRepository.findAll()) {
+            versions.put(version.getUserId(), version.getVersion());
+        }
+        Map<String, Instant> tokens = new HashMap<>();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            tokens.put(token.getJti(), token.getExpiresAt());
+        }
+        index.replace(versions, tokens, now);
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval:1h}")
+    @Transactional
+    public void purgeExpired() {
+        revokedTokenRepository.deleteExpired(Instant.now());
+    }
+
+    public boolean isRevoked(ClaimsMapper claims) {
+        return index.isRevoked(claims.getId(), claims.getTokenVersion(), claims.getJti());
+    }
+
+    // Versión con la que se firma un token nuevo. Se lee de la BD (primario): otra instancia pudo
+    // subirla hace poco y un token emitido con la versión vieja quedaría rechazado en las demás.
+    @Transactional
+    public int currentVersion(Long userId) {
+        if (userId == null) {
+            return 0;
+        }
+        tokenVersionRepository.findById(userId).ifPresent(v -> index.updateVersion(userId, v.getVersion()));
+        return index.version(userId);
+    }
+
+    // Invalida todos los tokens emitidos hasta ahora para el usuario (cambio de contraseña, borrado, logout global)
+    @Transactional
+    public int revokeAll(Long userId) {
+        TokenVersion version = tokenVersionRepository.findById(userId).orElseGet(() -> new TokenVersion(userId, 0));
+        version.setVersion(Math.max(version.getVersion(), index.version(userId)) + 1);
+        version.setUpdatedAt(Instant.now());
+        tokenVersionRepository.save(version);
+        index.updateVersion(userId, version.getVersion());
+        return version.getVersion();
+    }
+
+    // Revoca un token puntual (logout) hasta su expiración
+    @Transactional
+    public void revoke(ClaimsMapper claims) {
+        if (claims.getJti() == null || claims.getExpiresAt() == null) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(claims.getJti(), claims.getId(), claims.getExpiresAt()));
+        index.revoke(claims.getJti(), claims.getExpiresAt());
+    }
+
+    public Map<String, Object> stats() {
+        return index.stats();
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.BackendApplication.Security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, UserDetailsImpl> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserDetailsCache(@Value("${cache.usuarios.max-size:10000}") long maxSize,
+                            @Value("${cache.usuarios.ttl:5m}") Duration ttl,
+                            MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}: aciertos del filtro JWT al resolver el principal
+        CaffeineCacheMetrics.monitor(registry, cache, "usuarios");
+    }
+
+    // Carga atómica por username: peticiones concurrentes esperan a una sola consulta
+    public UserDetailsImpl get(String username, Function<String, UserDetailsImpl> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("size", cache.estimatedSize());
+        res.put("hits", stats.hitCount());
+        res.put("misses", stats.missCount());
+        res.put("hitRate", stats.hitRate());
+        res.put("evictions", stats.evictionCount());
+        res.put("invalidations", invalidations.get());
+        res.put("loadFailures", stats.loadFailureCount());
+        return res;
+    }
+}
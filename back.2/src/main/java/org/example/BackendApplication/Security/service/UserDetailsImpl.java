@@ -1,12 +1,11 @@
 package org.example.BackendApplication.Security.service;
 
+import org.example.BackendApplication.Security.jwt.ClaimsMapper;
 import org.example.BackendApplication.models.Users;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class UserDetailsImpl implements UserDetails {
 
@@ -34,8 +33,8 @@ public class UserDetailsImpl implements UserDetails {
 
     public static UserDetailsImpl build(Users user) {
         List<GrantedAuthority> auths = user.getRoles().stream()
-                .map(r -> new SimpleGrantedAuthority(r.getName().name()))
-                .collect(Collectors.toList());
+                .map(r -> RoleRegistry.authority(r.getName()))
+                .toList();
 
 
         return new UserDetailsImpl(
@@ -49,6 +48,14 @@ public class UserDetailsImpl implements UserDetails {
         );
     }
 
+    public static UserDetailsImpl fromClaims(ClaimsMapper claims) {
+        List<GrantedAuthority> auths = claims.getRoles().stream()
+                .map(RoleRegistry::authority)
+                .toList();
+
+        return new UserDetailsImpl(claims.getId(), claims.getUsername(), null, null, auths);
+    }
+
     public Long getId() { return id; }
     public String getEmail() { return email; }
 
@@ -1,28 +1,55 @@
 package org.example.BackendApplication.Security.service;
 
 
-import jakarta.transaction.Transactional;
 import org.example.BackendApplication.models.Users;
 import org.example.BackendApplication.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Users user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
+        return userDetailsCache.get(username, this::loadFromDatabase);
+    }
 
-        return UserDetailsImpl.build(user); // ← convertimos Users a UserDetails
+    private UserDetailsImpl loadFromDatabase(String username) {
+        // la transacción mantiene la sesión abierta para inicializar los roles lazy.
+        // Sin readOnly: va al primario. Lo cargado queda en UserDetailsCache hasta el TTL, y se recarga justo
+        // después de un cambio de contraseña, roles o un borrado; una réplica atrasada volvería a cachear
+        // el hash, los roles o el usuario viejos. Con la caché, esta carga es poco frecuente.
+        return transactionTemplate.execute(status -> {
+            Users user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
+
+            return UserDetailsImpl.build(user); // ← convertimos Users a UserDetails
+        });
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserDetailsImpl updated = transactionTemplate.execute(status -> {
+            Users entity = userRepository.findByUsername(user.getUsername())
+                    .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + user.getUsername()));
+            entity.setPassword(newPassword);
+            return UserDetailsImpl.build(userRepository.save(entity));
+        });
+        userDetailsCache.evict(user.getUsername());
+        return updated;
     }
 }
@@ -0,0 +1,153 @@
+package org.example.BackendApplication.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Transacciones readOnly -> una réplica sana (round-robin); el resto, y todo si no hay réplicas sanas, -> primario.
+// Va detrás de un LazyConnectionDataSourceProxy: la conexión real se pide en la primera sentencia,
+// cuando el flag readOnly de la transacción ya está puesto.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primario";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                                    String lagQuery, Duration maxLag, MeterRegistry registry) {
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool);
+            replicas.add(replica);
+            targets.put(replica.name, pool);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMs / 1000.0)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+        this.fallbacks = Counter.builder("db.replica.fallback")
+                .description("Lecturas readOnly enviadas al primario por no haber réplica sana")
+                .register(registry);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        if (size == 0) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                replica.reads.incrementAndGet();
+                return replica.name;
+            }
+        }
+        fallbacks.increment();
+        return PRIMARY;
+    }
+
+    // Una réplica caída o atrasada más de max-lag deja de recibir lecturas hasta el próximo chequeo correcto.
+    // Hasta el primer chequeo (al iniciar el scheduler) todas las lecturas van al primario.
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.check-interval:5s}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            replica.check();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("enabled", !replicas.isEmpty());
+        res.put("maxLagMs", maxLag.toMillis());
+        res.put("primaryFallbacks", (long) fallbacks.count());
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Replica replica : replicas) {
+            Map<String, Object> r = new LinkedHashMap<>();
+            r.put("name", replica.name);
+            r.put("healthy", replica.healthy);
+            r.put("lagMs", replica.lagMs);
+            r.put("reads", replica.reads.get());
+            r.put("lastError", replica.lastError);
+            r.put("active", replica.pool.getHikariPoolMXBean() == null ? 0 : replica.pool.getHikariPoolMXBean().getActiveConnections());
+            list.add(r);
+        }
+        res.put("replicas", list);
+        return res;
+    }
+
+    @PreDestroy
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private final class Replica {
+        private final HikariDataSource pool;
+        private final String name;
+        private final AtomicLong reads = new AtomicLong();
+        private volatile boolean healthy;
+        private volatile long lagMs = -1;
+        private volatile String lastError;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+            this.name = pool.getPoolName();
+        }
+
+        private void check() {
+            try (Connection connection = pool.getConnection()) {
+                long lag = 0;
+                if (lagQuery != null && !lagQuery.isBlank()) {
+                    try (Statement statement = connection.createStatement();
+                         ResultSet rs = statement.executeQuery(lagQuery)) {
+                        lag = rs.next() ? Math.round(rs.getDouble(1) * 1000) : 0;
+                    }
+                } else if (!connection.isValid(2)) {
+                    throw new SQLException("Conexión inválida");
+                }
+                lagMs = lag;
+                healthy = lag <= maxLag.toMillis();
+                lastError = healthy ? null : "Atraso de " + lag + " ms";
+            } catch (SQLException e) {
+                healthy = false;
+                lastError = e.getMessage();
+            }
+        }
+    }
+}
@@ -1,19 +1,34 @@
 package org.example.BackendApplication.controller;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.BackendApplication.Security.jwt.ClaimsMapper;
 import org.example.BackendApplication.Security.jwt.JwtUtils;
+import org.example.BackendApplication.Security.service.LoginRateLimiter;
+import org.example.BackendApplication.Security.service.PasswordHashingService;
+import org.example.BackendApplication.Security.service.TokenRevocationService;
 import org.example.BackendApplication.Security.service.UserDetailsImpl;
+import org.example.BackendApplication.models.AuditAction;
 import org.example.BackendApplication.models.Users;
 import org.example.BackendApplication.models.dto.MessageResponse;
 import org.example.BackendApplication.models.dto.SigninDto;
 import org.example.BackendApplication.models.dto.SigninResponseDto;
+import org.example.BackendApplication.models.dto.UserSummaryDto;
 
-import org.example.BackendApplication.repository.RoleRepository;
+import org.example.BackendApplication.logging.StackTraceSampler;
 import org.example.BackendApplication.service.UserService;
+import org.example.BackendApplication.service.audit.AuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -27,6 +42,8 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private UserService userService;
 
@@ -43,11 +60,54 @@ public class AuthController {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private RoleRepository roleRepository;
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private StackTraceSampler stackTraceSampler;
 
 
     @PostMapping("/signin")
-    public ResponseEntity<?> signin(@RequestBody SigninDto signinDto) {
+    public ResponseEntity<?> signin(@RequestBody SigninDto signinDto, HttpServletRequest request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ResponseEntity<?> response = authenticate(signinDto, request);
+            outcome = switch (response.getStatusCode().value()) {
+                case 200 -> "ok";
+                case 403 -> "credenciales";
+                case 429 -> "limitado";
+                case 503 -> "saturado";
+                // 500 y cualquier otro: falla nuestra, no del usuario; no cuenta como credenciales
+                default -> "error";
+            };
+            return response;
+        } finally {
+            // auth.signin{resultado}: el tiempo de BCrypt en sí está en auth.bcrypt.hash
+            sample.stop(Timer.builder("auth.signin")
+                    .tag("resultado", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            auditLog.record(AuditAction.SIGNIN, outcome, signinDto.getUsername(), null);
+        }
+    }
+
+    private ResponseEntity<?> authenticate(SigninDto signinDto, HttpServletRequest request) {
+        long retryAfter = loginRateLimiter.tryAcquireSignin(request, signinDto.getUsername());
+        if (retryAfter > 0) {
+            return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(new MessageResponse("Demasiados intentos, intente más tarde"));
+        }
+
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -57,6 +117,7 @@ public class AuthController {
             );
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
+            loginRateLimiter.onSigninSuccess(signinDto.getUsername());
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
             String jwt = jwtUtils.generateJwtToken(authentication);
@@ -78,22 +139,57 @@ public class AuthController {
 
             return ResponseEntity.ok(res);
 
-        } catch (Exception e) {
-            e.printStackTrace();
+        } catch (PasswordHashingService.HashingCapacityException e) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new MessageResponse(e.getMessage()));
+        } catch (AuthenticationServiceException e) {
+            // el proveedor no pudo verificar (p. ej. BD caída al buscar el usuario): no son credenciales malas
+            stackTraceSampler.error(log, "Error interno al autenticar en signin", e);
+            return ResponseEntity.status(500)
+                    .body(new MessageResponse("Error interno, intente nuevamente"));
+        } catch (AuthenticationException e) {
+            // credenciales malas: caso normal, sin traza (una ráfaga de logins fallidos no debe inundar el log)
+            log.debug("Signin rechazado para {}: {}", signinDto.getUsername(), e.getMessage());
             return ResponseEntity.status(403)
                     .body(new MessageResponse("Error: Credenciales incorrectas"));
+        } catch (Exception e) {
+            stackTraceSampler.error(log, "Error inesperado en signin", e);
+            return ResponseEntity.status(500)
+                    .body(new MessageResponse("Error interno, intente nuevamente"));
+        }
+    }
+
+
+    // Revoca el token presentado; con todas=true, todos los tokens del usuario (cerrar sesión en todos lados)
+    @PostMapping("/logout")
+    public ResponseEntity<MessageResponse> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                                  @RequestParam(defaultValue = "false") boolean todas) {
+        ClaimsMapper claims = authorization != null && authorization.startsWith("Bearer ")
+                ? jwtUtils.parseToken(authorization.substring(7))
+                : null;
+        if (claims == null || tokenRevocationService.isRevoked(claims)) {
+            return ResponseEntity.status(401).body(new MessageResponse("Token inválido"));
+        }
+        if (todas && claims.getId() != null) {
+            tokenRevocationService.revokeAll(claims.getId());
+        } else {
+            tokenRevocationService.revoke(claims);
         }
+        auditLog.record(AuditAction.LOGOUT, "ok", claims.getUsername(), todas ? "todas las sesiones" : null);
+        return ResponseEntity.ok(new MessageResponse("Sesión cerrada"));
     }
 
 
     @GetMapping
-    public ResponseEntity<List<Users>> getAllUsers(@RequestHeader("Authorization") String authorization) {
+    public ResponseEntity<List<UserSummaryDto>> getAllUsers(@RequestHeader("Authorization") String authorization) {
 
         if (authorization != null && authorization.startsWith("Bearer ")) {
-            String token = authorization.substring(7);
+            // /api/auth queda fuera del filtro JWT: la revocación se revisa aquí igual que en el filtro
+            ClaimsMapper claims = jwtUtils.parseToken(authorization.substring(7));
 
-            if (jwtUtils.validateToken(token)) {
-                List<Users> users = userService.obtenerTodoslosusuarios();
+            if (claims != null && !tokenRevocationService.isRevoked(claims)) {
+                List<UserSummaryDto> users = userService.obtenerTodoslosusuarios();
                 return ResponseEntity.ok(users);
             } else {
                 return ResponseEntity.status(403).body(null);
@@ -0,0 +1,21 @@
+package org.example.BackendApplication.controller;
+
+import org.example.BackendApplication.models.dto.DashboardSummaryDto;
+import org.example.BackendApplication.service.DashboardCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*")
+public class DashboardController {
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummaryDto> summary() {
+        return ResponseEntity.ok(dashboardCache.summary());
+    }
+}
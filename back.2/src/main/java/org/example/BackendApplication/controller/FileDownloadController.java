@@ -0,0 +1,223 @@
+package org.example.BackendApplication.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.BackendApplication.models.StoredFile;
+import org.example.BackendApplication.service.FileStorageService;
+import org.example.BackendApplication.service.ThumbnailService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Descarga de archivos subidos: el contenido bajo un alias nunca cambia, así que el
+// sha256 es un ETag fuerte y se puede cachear por mucho tiempo.
+@RestController
+@RequestMapping("/uploads")
+@CrossOrigin(origins = "*")
+public class FileDownloadController {
+
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    // atributos del conector de Tomcat para enviar el archivo con sendfile (sin copiar a memoria)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Value("${file.download.max-age:365d}")
+    private Duration maxAge;
+
+    @Value("${file.download.sendfile:true}")
+    private boolean sendfileEnabled;
+
+    // /uploads/{filename} mantiene las URLs que antes servía el resource handler estático
+    @GetMapping({"/archivos/{filename:.+}", "/{filename:.+}"})
+    public void descargar(@PathVariable String filename,
+                          HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        StoredFile file = fileStorageService.findOrMigrate(filename).orElse(null);
+        Path object = file == null ? null : fileStorageService.objectPath(file.getSha256());
+        if (object == null || !Files.isReadable(object)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Archivo no encontrado");
+            return;
+        }
+
+        MediaType type = MediaTypeFactory.getMediaType(file.getFilename()).orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        // los rangos se sirven siempre sobre la representación sin comprimir
+        String encoding = null;
+        Path body = object;
+        if (request.getHeader(HttpHeaders.RANGE) == null && FileStorageService.isCompressible(type)) {
+            String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            Path br = fileStorageService.variantPath(file.getSha256(), ".br");
+            Path gz = fileStorageService.variantPath(file.getSha256(), ".gz");
+            if (accepts(accept, "br") && Files.isReadable(br)) {
+                encoding = "br";
+                body = br;
+            } else if (accepts(accept, "gzip") && Files.isReadable(gz)) {
+                encoding = "gzip";
+                body = gz;
+            }
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        String name = file.getOriginalName() != null ? file.getOriginalName() : file.getFilename();
+        enviar(request, response, file, file.getSha256(), body, type, encoding, name);
+    }
+
+    // Miniatura JPEG del ancho configurado más cercano; si no está lista a tiempo se sirve el original
+    @GetMapping("/miniaturas/{filename:.+}")
+    public void miniatura(@PathVariable String filename,
+                          @RequestParam(defaultValue = "480") int w,
+                          HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        StoredFile file = fileStorageService.findOrMigrate(filename).orElse(null);
+        if (file == null || !Files.isReadable(fileStorageService.objectPath(file.getSha256()))) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Archivo no encontrado");
+            return;
+        }
+        if (!thumbnailService.isImage(file)) {
+            response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE, "El archivo no es una imagen");
+            return;
+        }
+        int width = thumbnailService.pickSize(w);
+        Path derivative = thumbnailService.derivative(file, width);
+        if (derivative == null) {
+            descargar(filename, request, response);
+            return;
+        }
+        enviar(request, response, file, thumbnailService.derivativeTag(file.getSha256(), width), derivative,
+                MediaType.IMAGE_JPEG, null,
+                "w" + width + "_" + FileStorageService.sanitize(file.getFilename()) + ".jpg");
+    }
+
+    private void enviar(HttpServletRequest request, HttpServletResponse response, StoredFile file,
+                        String tag, Path body, MediaType type, String encoding, String downloadName) throws IOException {
+        String etag = "\"" + tag + (encoding == null ? "" : "-" + encoding) + "\"";
+        long lastModified = file.getCreatedAt().toEpochMilli();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=" + maxAge.toSeconds() + ", immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // If-None-Match (comparación débil) con prioridad sobre If-Modified-Since; pone ETag y Last-Modified
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        long length = Files.size(body);
+        long start = 0;
+        long end = length - 1;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRangeMatches(ifRange, "\"" + tag + "\"", lastModified))) {
+            Matcher matcher = SINGLE_RANGE.matcher(rangeHeader.trim());
+            // varios rangos o un formato desconocido: se responde el archivo completo
+            if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                if (matcher.group(1).isEmpty()) {
+                    start = Math.max(0, length - Long.parseLong(matcher.group(2)));
+                } else {
+                    start = Long.parseLong(matcher.group(1));
+                    if (!matcher.group(2).isEmpty()) {
+                        end = Math.min(end, Long.parseLong(matcher.group(2)));
+                    }
+                }
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(type.toString());
+        if (encoding != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(downloadName, StandardCharsets.UTF_8)
+                .build().toString());
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (sendfileEnabled && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat envía el archivo desde el kernel al socket al terminar la petición
+            request.setAttribute(SENDFILE_FILENAME, body.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(body, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long n = channel.transferTo(position, remaining, out);
+                if (n <= 0) {
+                    break;
+                }
+                position += n;
+                remaining -= n;
+            }
+        }
+    }
+
+    // If-Range (RFC 9110 13.1.5): un solo validador y comparación fuerte. Un ETag débil nunca coincide;
+    // los rangos van sin comprimir, así que el ETag válido es el de la representación identity.
+    // Una fecha tiene que ser exactamente el Last-Modified enviado.
+    private static boolean ifRangeMatches(String ifRange, String identityEtag, long lastModified) {
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return value.equals(identityEtag);
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().getEpochSecond()
+                    == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (tokens[0].trim().equalsIgnoreCase(coding)) {
+                return tokens.length < 2 || !tokens[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
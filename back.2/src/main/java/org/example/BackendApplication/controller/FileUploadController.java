@@ -1,32 +1,58 @@
 package org.example.BackendApplication.controller;
 
-import org.springframework.beans.factory.annotation.Value;
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.BackendApplication.logging.StackTraceSampler;
+import org.example.BackendApplication.models.StoredFile;
+import org.example.BackendApplication.models.dto.MessageResponse;
+import org.example.BackendApplication.models.dto.UploadSessionDto;
+import org.example.BackendApplication.service.FileStorageService;
+import org.example.BackendApplication.service.ThumbnailService;
+import org.example.BackendApplication.service.UploadMetrics;
+import org.example.BackendApplication.service.UploadSessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.*;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/uploads")
 @CrossOrigin(origins = "*")
 public class FileUploadController {
 
-    @Value("${file.uploadDir}")
-    private String uploadDir;
+    private static final Logger log = LoggerFactory.getLogger(FileUploadController.class);
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private UploadMetrics uploadMetrics;
+
+    @Autowired
+    private StackTraceSampler stackTraceSampler;
 
     @PostMapping("/solicitud")
     public ResponseEntity<String> uploadFile(
             @RequestParam("file") MultipartFile file) {
 
+        long started = uploadMetrics.start();
+        long received = -1;
         try {
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-
             String originalName = file.getOriginalFilename();
             if (originalName == null || originalName.trim().isEmpty()) {
                 return ResponseEntity
@@ -34,23 +60,142 @@ public class FileUploadController {
                         .body("Nombre de archivo inválido");
             }
 
-            String filename = System.currentTimeMillis()
-                    + "_"
-                    + originalName.replaceAll("\\s+", "_");
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(
-                    file.getInputStream(),
-                    filePath,
-                    StandardCopyOption.REPLACE_EXISTING
-            );
+            String filename = fileStorageService.store(file.getInputStream(), originalName);
+            received = file.getSize();
+            fileStorageService.find(filename).ifPresent(thumbnailService::schedule);
 
             return ResponseEntity.ok(filename);
 
         } catch (IOException e) {
-            e.printStackTrace();
+            stackTraceSampler.error(log, "Error al subir el archivo", e);
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("❌ Error al subir el archivo: " + e.getMessage());
+        } finally {
+            uploadMetrics.simple(started, received);
+        }
+    }
+
+    // El contenido solo se borra del disco cuando ningún otro alias lo referencia
+    @DeleteMapping("/archivos/{filename:.+}")
+    public ResponseEntity<?> eliminarArchivo(@PathVariable String filename) {
+        try {
+            if (!fileStorageService.delete(filename)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new MessageResponse("Archivo no encontrado: " + filename));
+            }
+            return ResponseEntity.noContent().build();
+        } catch (IOException e) {
+            stackTraceSampler.error(log, "Error al eliminar el archivo", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("Error al eliminar el archivo"));
+        }
+    }
+
+    // 1) crear sesión  2) PUT de rangos con Content-Range  3) finalizar
+    @PostMapping("/sesiones")
+    public ResponseEntity<?> crearSesion(@RequestBody Map<String, Object> body) {
+        try {
+            Object size = body.get("size");
+            UploadSessionDto session = uploadSessionService.create(
+                    (String) body.get("filename"),
+                    size instanceof Number n ? n.longValue() : -1);
+            return ResponseEntity.status(HttpStatus.CREATED).body(session);
+        } catch (IllegalArgumentException | ClassCastException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (IOException e) {
+            stackTraceSampler.error(log, "Error al crear la sesión de subida", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("Error al crear la sesión de subida"));
+        }
+    }
+
+    @GetMapping("/sesiones/{id}")
+    public ResponseEntity<?> estadoSesion(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(uploadSessionService.status(id));
+        } catch (UploadSessionService.SessionNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @PutMapping("/sesiones/{id}")
+    public ResponseEntity<?> enviarRango(@PathVariable String id,
+                                         @RequestHeader(value = "Content-Range", required = false) String contentRange,
+                                         HttpServletRequest request) {
+        long started = uploadMetrics.start();
+        long received = -1;
+        try {
+            long start = 0;
+            if (contentRange != null) {
+                Matcher matcher = CONTENT_RANGE.matcher(contentRange.trim());
+                if (!matcher.matches()) {
+                    return ResponseEntity.badRequest().body(new MessageResponse("Content-Range inválido"));
+                }
+                start = Long.parseLong(matcher.group(1));
+            }
+            UploadSessionDto session = uploadSessionService.append(id, start, request.getInputStream());
+            received = session.getOffset() - start;
+            return ResponseEntity.ok(session);
+        } catch (UploadSessionService.SessionNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        } catch (UploadSessionService.OffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("Upload-Offset", String.valueOf(e.getExpectedOffset()))
+                    .body(new MessageResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (IOException e) {
+            stackTraceSampler.error(log, "Error al escribir el rango", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("Error al escribir el rango"));
+        } finally {
+            uploadMetrics.chunk(started, received);
+        }
+    }
+
+    @PostMapping("/sesiones/{id}/finalizar")
+    public ResponseEntity<?> finalizarSesion(@PathVariable String id) {
+        long started = uploadMetrics.start();
+        long size = -1;
+        try {
+            String filename = uploadSessionService.finish(id);
+            StoredFile stored = fileStorageService.find(filename).orElse(null);
+            if (stored != null) {
+                size = stored.getSize();
+                thumbnailService.schedule(stored);
+            }
+            return ResponseEntity.ok(filename);
+        } catch (UploadSessionService.SessionNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        } catch (UploadSessionService.OffsetMismatchException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("Upload-Offset", String.valueOf(e.getExpectedOffset()))
+                    .body(new MessageResponse("La subida está incompleta"));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        } catch (IOException e) {
+            stackTraceSampler.error(log, "Error al finalizar la subida", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("Error al finalizar la subida"));
+        } finally {
+            uploadMetrics.finalized(started, size);
+        }
+    }
+
+    @DeleteMapping("/sesiones/{id}")
+    public ResponseEntity<?> cancelarSesion(@PathVariable String id) {
+        try {
+            uploadSessionService.abort(id);
+            return ResponseEntity.noContent().build();
+        } catch (UploadSessionService.SessionNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        } catch (IOException e) {
+            stackTraceSampler.error(log, "Error al cancelar la subida", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("Error al cancelar la subida"));
         }
     }
 }
@@ -0,0 +1,94 @@
+package org.example.BackendApplication.controller;
+
+import org.example.BackendApplication.models.dto.GateDto;
+import org.example.BackendApplication.models.dto.MessageResponse;
+import org.example.BackendApplication.service.GateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/gates")
+@CrossOrigin(origins = "*")
+public class GateController {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private GateService gateService;
+
+    // q busca por substring en DT, origen o puerta (sin distinguir mayúsculas ni tildes).
+    // total=true agrega el total de coincidencias, contado hasta un tope (totalCapped); cuesta un recorrido más
+    @GetMapping("/search")
+    public ResponseEntity<?> buscar(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "asc") String dir,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean total
+    ) {
+        try {
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            return ResponseEntity.ok(gateService.buscar(q, fecha, cursor, "desc".equalsIgnoreCase(dir), pageSize, total));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Parámetros inválidos: " + e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> obtener(@PathVariable Long id) {
+        return gateService.obtener(id)
+                .<ResponseEntity<?>>map(gate -> ResponseEntity.ok(GateDto.from(gate)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new MessageResponse("Gate no encontrado")));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> crear(@RequestBody GateDto dto) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(GateDto.from(gateService.crear(dto)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (GateService.DuplicateGateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> actualizar(@PathVariable Long id, @RequestBody GateDto dto) {
+        try {
+            return gateService.actualizar(id, dto)
+                    .<ResponseEntity<?>>map(gate -> ResponseEntity.ok(GateDto.from(gate)))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(new MessageResponse("Gate no encontrado")));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (GateService.DuplicateGateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> eliminar(@PathVariable Long id) {
+        try {
+            if (!gateService.eliminar(id)) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse("Gate no encontrado"));
+            }
+            return ResponseEntity.noContent().build();
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new MessageResponse("El gate tiene inspecciones registradas"));
+        }
+    }
+}
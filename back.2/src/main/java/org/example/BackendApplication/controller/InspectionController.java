@@ -0,0 +1,29 @@
+package org.example.BackendApplication.controller;
+
+import org.example.BackendApplication.models.dto.InspectionDto;
+import org.example.BackendApplication.models.dto.MessageResponse;
+import org.example.BackendApplication.service.InspectionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/inspecciones")
+@CrossOrigin(origins = "*")
+public class InspectionController {
+
+    @Autowired
+    private InspectionService inspectionService;
+
+    @PostMapping
+    public ResponseEntity<?> registrar(@RequestBody InspectionDto dto, Authentication authentication) {
+        try {
+            InspectionDto saved = inspectionService.registrar(dto, authentication != null ? authentication.getName() : null);
+            return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+}
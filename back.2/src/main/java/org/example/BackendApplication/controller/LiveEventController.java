@@ -0,0 +1,52 @@
+package org.example.BackendApplication.controller;
+
+import org.example.BackendApplication.service.LiveEventBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class LiveEventController {
+
+    @Autowired
+    private LiveEventBroadcaster broadcaster;
+
+    // Un solo stream por cliente en vez de consultar dashboard/gates/usuarios periódicamente
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> suscribir(
+            @RequestParam(required = false) String topics,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        Set<String> selected = topics == null || topics.isBlank()
+                ? LiveEventBroadcaster.TOPICS
+                : Arrays.stream(topics.split(",")).map(String::trim).map(String::toLowerCase).collect(Collectors.toSet());
+        if (!LiveEventBroadcaster.TOPICS.containsAll(selected)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tópicos válidos: " + LiveEventBroadcaster.TOPICS);
+        }
+        Long lastId;
+        try {
+            lastId = lastEventId == null || lastEventId.isBlank() ? null : Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Last-Event-ID inválido");
+        }
+        try {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                    .header("X-Accel-Buffering", "no")
+                    .body(broadcaster.subscribe(selected, lastId));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
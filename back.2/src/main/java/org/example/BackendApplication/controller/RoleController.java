@@ -1,10 +1,13 @@
 package org.example.BackendApplication.controller;
 
+import org.example.BackendApplication.Security.service.RoleRegistry;
 import org.example.BackendApplication.models.Role;
-import org.example.BackendApplication.repository.RoleRepository;
+import org.example.BackendApplication.service.DataVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -13,11 +16,16 @@ import java.util.List;
 public class RoleController {
 
     @Autowired
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private DataVersions dataVersions;
 
     @GetMapping
-    public ResponseEntity<List<Role>> obtenerRoles() {
-        List<Role> roles = roleRepository.findAll();
-        return ResponseEntity.ok(roles);
+    public ResponseEntity<List<Role>> obtenerRoles(WebRequest request) {
+        if (dataVersions.checkNotModified(request, DataVersions.ROLES)) {
+            return null; // 304 armado por checkNotModified
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(roleRegistry.all());
     }
 }
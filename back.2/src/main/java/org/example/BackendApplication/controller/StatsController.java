@@ -0,0 +1,93 @@
+package org.example.BackendApplication.controller;
+
+import org.example.BackendApplication.Security.service.LoginRateLimiter;
+import org.example.BackendApplication.Security.service.PasswordHashingService;
+import org.example.BackendApplication.Security.service.TokenRevocationService;
+import org.example.BackendApplication.Security.service.UserDetailsCache;
+import org.example.BackendApplication.config.ReplicaRoutingDataSource;
+import org.example.BackendApplication.service.LiveEventBroadcaster;
+import org.example.BackendApplication.service.StartupReport;
+import org.example.BackendApplication.service.ThumbnailService;
+import org.example.BackendApplication.service.audit.AuditLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private LiveEventBroadcaster liveEventBroadcaster;
+
+    @Autowired
+    private StartupReport startupReport;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @GetMapping("/user-cache")
+    public ResponseEntity<Map<String, Object>> userCache() {
+        return ResponseEntity.ok(userDetailsCache.stats());
+    }
+
+    @GetMapping("/bcrypt")
+    public ResponseEntity<Map<String, Object>> bcrypt() {
+        return ResponseEntity.ok(passwordHashingService.stats());
+    }
+
+    @GetMapping("/login-limiter")
+    public ResponseEntity<Map<String, Object>> loginLimiter() {
+        return ResponseEntity.ok(loginRateLimiter.stats());
+    }
+
+    @GetMapping("/thumbnails")
+    public ResponseEntity<Map<String, Object>> thumbnails() {
+        return ResponseEntity.ok(thumbnailService.stats());
+    }
+
+    @GetMapping("/sse")
+    public ResponseEntity<Map<String, Object>> sse() {
+        return ResponseEntity.ok(liveEventBroadcaster.stats());
+    }
+
+    @GetMapping("/startup")
+    public ResponseEntity<Map<String, Object>> startup() {
+        return ResponseEntity.ok(startupReport.stats());
+    }
+
+    @GetMapping("/revocation")
+    public ResponseEntity<Map<String, Object>> revocation() {
+        return ResponseEntity.ok(tokenRevocationService.stats());
+    }
+
+    @GetMapping("/audit")
+    public ResponseEntity<Map<String, Object>> audit() {
+        return ResponseEntity.ok(auditLog.stats());
+    }
+
+    @GetMapping("/replicas")
+    public ResponseEntity<Map<String, Object>> replicas() {
+        return ResponseEntity.ok(replicaRoutingDataSource.stats());
+    }
+}
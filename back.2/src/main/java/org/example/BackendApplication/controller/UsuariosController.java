@@ -1,21 +1,47 @@
     package org.example.BackendApplication.controller;
 
+    import jakarta.servlet.http.HttpServletRequest;
     import org.example.BackendApplication.Security.jwt.JwtUtils;
+    import org.example.BackendApplication.Security.service.LoginRateLimiter;
+    import org.example.BackendApplication.Security.service.PasswordHashingService;
+    import org.example.BackendApplication.Security.service.RoleRegistry;
     import org.example.BackendApplication.Security.service.UserDetailsImpl;
+    import org.example.BackendApplication.models.AuditAction;
     import org.example.BackendApplication.models.ERole;
     import org.example.BackendApplication.models.Role;
     import org.example.BackendApplication.models.Users;
+    import org.example.BackendApplication.models.dto.ImportReportDto;
     import org.example.BackendApplication.models.dto.MessageResponse;
     import org.example.BackendApplication.models.dto.SigninResponseDto;
-    import org.example.BackendApplication.repository.RoleRepository;
+    import org.example.BackendApplication.models.dto.UserImportRow;
+    import org.example.BackendApplication.models.dto.UserPageDto;
+    import org.example.BackendApplication.logging.StackTraceSampler;
+    import org.example.BackendApplication.service.DataVersions;
+    import org.example.BackendApplication.service.UserImportParser;
+    import org.example.BackendApplication.service.UserImportService;
     import org.example.BackendApplication.service.UserService;
+    import org.example.BackendApplication.service.audit.AuditLog;
+    import org.example.BackendApplication.service.export.ExportFormat;
+    import org.example.BackendApplication.service.export.UserExportService;
+    import org.slf4j.Logger;
+    import org.slf4j.LoggerFactory;
     import org.springframework.beans.factory.annotation.Autowired;
+    import org.springframework.dao.InvalidDataAccessApiUsageException;
+    import org.springframework.http.CacheControl;
+    import org.springframework.http.HttpHeaders;
+    import org.springframework.http.HttpStatus;
+    import org.springframework.http.MediaType;
     import org.springframework.http.ResponseEntity;
     import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
     import org.springframework.security.core.Authentication;
     import org.springframework.security.crypto.password.PasswordEncoder;
     import org.springframework.web.bind.annotation.*;
+    import org.springframework.web.context.request.WebRequest;
+    import org.springframework.web.multipart.MultipartFile;
+    import org.springframework.web.server.ResponseStatusException;
+    import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+    import java.io.IOException;
     import java.util.List;
     import java.util.Map;
     import java.util.Objects;
@@ -25,6 +51,10 @@
     @RequestMapping("/api/usuarios")
     public class UsuariosController {
 
+        private static final Logger log = LoggerFactory.getLogger(UsuariosController.class);
+
+        private static final int MAX_PAGE_SIZE = 200;
+
         @Autowired
         private UserService userService;
 
@@ -35,12 +65,40 @@
         private JwtUtils jwtUtils;
 
         @Autowired
-        private RoleRepository roleRepository;
+        private RoleRegistry roleRegistry;
+
+        @Autowired
+        private UserExportService userExportService;
+
+        @Autowired
+        private UserImportService userImportService;
+
+        @Autowired
+        private UserImportParser userImportParser;
+
+        @Autowired
+        private LoginRateLimiter loginRateLimiter;
+
+        @Autowired
+        private DataVersions dataVersions;
+
+        @Autowired
+        private AuditLog auditLog;
+
+        @Autowired
+        private StackTraceSampler stackTraceSampler;
 
 
 
         @PostMapping("/signup")
-        public ResponseEntity<?> register(@RequestBody Users user) {
+        public ResponseEntity<?> register(@RequestBody Users user, HttpServletRequest request) {
+            long retryAfter = loginRateLimiter.tryAcquireSignup(request);
+            if (retryAfter > 0) {
+                return ResponseEntity.status(429)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                        .body(new MessageResponse("Demasiados intentos, intente más tarde"));
+            }
+
             try {
 
                 if (user.getEmail() == null || user.getPassword() == null || user.getUsername() == null) {
@@ -61,21 +119,20 @@
                 if (user.getRoles() != null && !user.getRoles().isEmpty()) {
                     List<Role> resolvedRoles = user.getRoles().stream()
                             .filter(r -> r.getId() != null)
-                            .map(r -> roleRepository.findById(r.getId()).orElse(null))
+                            .map(r -> roleRegistry.findById(r.getId()).orElse(null))
                             .filter(Objects::nonNull)
                             .collect(Collectors.toList());
                     user.setRoles(resolvedRoles);
                 } else {
 
-                    Role defaultRole = roleRepository.findByName(ERole.USER)
-                            .orElseThrow(() -> new RuntimeException("Rol no encontrado"));
-                    user.setRoles(List.of(defaultRole));
+                    user.setRoles(List.of(roleRegistry.get(ERole.USER)));
                 }
 
 
                 user.setPassword(encoder.encode(user.getPassword()));
 
                 Users savedUser = userService.saveUser(user);
+                auditLog.record(AuditAction.SIGNUP, "ok", savedUser.getUsername(), null);
 
                 UserDetailsImpl userDetails = UserDetailsImpl.build(savedUser);
                 Authentication authentication = new UsernamePasswordAuthenticationToken(
@@ -92,16 +149,90 @@
 
                 return ResponseEntity.ok(response);
 
+            } catch (PasswordHashingService.HashingCapacityException e) {
+                return servicioSaturado(e);
             } catch (Exception e) {
-                e.printStackTrace();
+                stackTraceSampler.error(log, "Error al registrar usuario", e);
+                auditLog.record(AuditAction.SIGNUP, "error", user.getUsername(), e.getClass().getSimpleName());
                 return ResponseEntity.status(500).body(new MessageResponse("Error: No se pudo registrar al usuario"));
             }
         }
 
 
+        @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+        public ResponseEntity<?> importarArchivo(@RequestParam("file") MultipartFile file) {
+            try {
+                return ResponseEntity.ok(auditarImportacion(userImportService.importUsers(userImportParser.parse(file))));
+            } catch (PasswordHashingService.HashingCapacityException e) {
+                return servicioSaturado(e);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+            } catch (IOException e) {
+                log.warn("No se pudo leer el archivo de importación: {}", e.toString());
+                return ResponseEntity.badRequest().body(new MessageResponse("No se pudo leer el archivo"));
+            }
+        }
+
+        @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+        public ResponseEntity<?> importarJson(@RequestBody List<UserImportRow> rows) {
+            try {
+                return ResponseEntity.ok(auditarImportacion(userImportService.importUsers(rows)));
+            } catch (PasswordHashingService.HashingCapacityException e) {
+                return servicioSaturado(e);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+            }
+        }
+
+
+        // Los listados incluyen nombres de rol: el ETag cubre usuarios y roles
         @GetMapping("/usuarios")
-        public ResponseEntity<?> obtenerUsuarios() {
-            return ResponseEntity.ok(userService.obtenerTodoslosusuarios());
+        public ResponseEntity<?> obtenerUsuarios(WebRequest request) {
+            if (dataVersions.checkNotModified(request, DataVersions.USUARIOS, DataVersions.ROLES)) {
+                return null; // 304 sin consultar ni serializar
+            }
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(userService.obtenerTodoslosusuarios());
+        }
+
+        @GetMapping
+        public ResponseEntity<?> listarUsuarios(
+                @RequestParam(required = false) String cursor,
+                @RequestParam(defaultValue = "50") int limit,
+                @RequestParam(defaultValue = "id") String sort,
+                @RequestParam(defaultValue = "asc") String dir,
+                @RequestParam(required = false) String q,
+                @RequestParam(required = false) String role,
+                WebRequest request
+        ) {
+            if (dataVersions.checkNotModified(request, DataVersions.USUARIOS, DataVersions.ROLES)) {
+                return null;
+            }
+            try {
+                ERole roleFilter = (role == null || role.isBlank()) ? null : ERole.valueOf(role.toUpperCase());
+                int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+                UserPageDto page = userService.obtenerPagina(
+                        q, roleFilter, sort, "desc".equalsIgnoreCase(dir), cursor, pageSize);
+                return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(page);
+            } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse("Parámetros inválidos: " + e.getMessage()));
+            }
+        }
+
+        @GetMapping("/export")
+        public ResponseEntity<StreamingResponseBody> exportarUsuarios(@RequestParam(defaultValue = "xlsx") String format) {
+            ExportFormat exportFormat;
+            try {
+                exportFormat = ExportFormat.from(format);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+
+            StreamingResponseBody body = out -> userExportService.exportUsers(exportFormat, out);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_TYPE, exportFormat.getContentType())
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"usuarios." + exportFormat.getExtension() + "\"")
+                    .body(body);
         }
 
         @PutMapping("/{username}")
@@ -116,7 +247,8 @@
                     existingUser.setEmail(user.getEmail());
                 }
 
-                if (user.getPassword() != null && !user.getPassword().isEmpty()) {
+                boolean passwordChanged = user.getPassword() != null && !user.getPassword().isEmpty();
+                if (passwordChanged) {
                     existingUser.setPassword(encoder.encode(user.getPassword()));
                 }
 
@@ -125,9 +257,17 @@
                     existingUser.setRoles(user.getRoles());
                 }
 
-                return ResponseEntity.ok(userService.saveUser(existingUser));
+                Users saved = passwordChanged
+                        ? userService.guardarConNuevaPassword(existingUser)
+                        : userService.saveUser(existingUser);
+                auditLog.record(passwordChanged ? AuditAction.CAMBIO_PASSWORD : AuditAction.ACTUALIZACION,
+                        "ok", username, passwordChanged ? "vía actualización de usuario" : null);
+                return ResponseEntity.ok(saved);
+            } catch (PasswordHashingService.HashingCapacityException e) {
+                return servicioSaturado(e);
             } catch (Exception e) {
-                e.printStackTrace();
+                stackTraceSampler.error(log, "Error al actualizar usuario", e);
+                auditLog.record(AuditAction.ACTUALIZACION, "error", username, e.getClass().getSimpleName());
                 return ResponseEntity.status(500).body("Error: No se pudo actualizar el usuario");
             }
         }
@@ -141,19 +281,34 @@
                 }
 
                 userService.deleteUser(username);
+                auditLog.record(AuditAction.ELIMINACION, "ok", username, null);
                 return ResponseEntity.ok("Usuario eliminado con éxito");
             } catch (Exception e) {
-                e.printStackTrace();
+                stackTraceSampler.error(log, "Error al eliminar usuario", e);
+                auditLog.record(AuditAction.ELIMINACION, "error", username, e.getClass().getSimpleName());
                 return ResponseEntity.status(500).body("Error: No se pudo eliminar el usuario");
             }
         }
 
 
+        private ResponseEntity<MessageResponse> servicioSaturado(PasswordHashingService.HashingCapacityException e) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new MessageResponse(e.getMessage()));
+        }
+
+        // Una fila por importación (no por usuario): el resumen ya dice cuántos se crearon
+        private ImportReportDto auditarImportacion(ImportReportDto result) {
+            auditLog.record(AuditAction.IMPORTACION, "ok", null,
+                    "creados=" + result.getCreated() + " fallidos=" + result.getFailed());
+            return result;
+        }
+
         private void resolveRoles(Users user) {
             if (user.getRoles() != null) {
                 List<Role> resolvedRoles = user.getRoles().stream()
                         .filter(r -> r.getId() != null)
-                        .map(r -> roleRepository.findById(r.getId()).orElse(null))
+                        .map(r -> roleRegistry.findById(r.getId()).orElse(null))
                         .filter(Objects::nonNull)
                         .collect(Collectors.toList());
                 user.setRoles(resolvedRoles);
@@ -178,10 +333,15 @@
 
                 user.setPassword(encoder.encode(nuevaPassword));
 
-                userService.saveUser(user);
+                userService.guardarConNuevaPassword(user);
+                auditLog.record(AuditAction.CAMBIO_PASSWORD, "ok", username, null);
 
                 return ResponseEntity.ok("Contraseña actualizada con éxito");
+            } catch (PasswordHashingService.HashingCapacityException e) {
+                return servicioSaturado(e);
             } catch (Exception e) {
+                stackTraceSampler.error(log, "Error al actualizar contraseña", e);
+                auditLog.record(AuditAction.CAMBIO_PASSWORD, "error", username, e.getClass().getSimpleName());
                 return ResponseEntity.status(500).body("Error al actualizar contraseña");
             }
         }
@@ -1,49 +1,97 @@
 package org.example.BackendApplication.initializer;
 
 
+import org.example.BackendApplication.Security.service.RoleRegistry;
 import org.example.BackendApplication.models.ERole;
-import org.example.BackendApplication.models.Role;
 import org.example.BackendApplication.models.Users;
-import org.example.BackendApplication.repository.RoleRepository;
 import org.example.BackendApplication.repository.UserRepository;
+import org.example.BackendApplication.service.StartupReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.ApplicationListener;
-import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.time.Duration;
 import java.util.List;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Carga inicial de roles y usuario admin (las secuencias ya quedaron ajustadas en SequenceInitializer). Corre en un hilo propio apenas el contexto arranca, en paralelo
+// con el resto de tareas de inicio (índices, dashboard); Tomcat ya atiende mientras tanto. El paso de
+// ApplicationReadyEvent la espera sin límite, así que la app se declara lista (ACCEPTING_TRAFFIC) recién al
+// terminar: mientras tanto /actuator/health/readiness da OUT_OF_SERVICE y el balanceador no manda tráfico.
 @Component
-public class DataInitializer implements ApplicationListener<ContextRefreshedEvent> {
+public class DataInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
 
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final UserRepository userRepository;
+    private final CompletableFuture<Void> seeded = new CompletableFuture<>();
 
     @Autowired
     PasswordEncoder encoder;
 
-    public DataInitializer(RoleRepository roleRepository, UserRepository userRepository) {
-        this.roleRepository = roleRepository;
+    @Autowired
+    StartupReport startupReport;
+
+    @Value("${app.seeding.timeout:60s}")
+    private Duration timeout;
+
+    public DataInitializer(RoleRegistry roleRegistry, UserRepository userRepository) {
+        this.roleRegistry = roleRegistry;
         this.userRepository = userRepository;
     }
 
-    @Override
-    public void onApplicationEvent(ContextRefreshedEvent event) {
-        initializeRoles();
-        initializeUser();
+    @EventListener(ApplicationStartedEvent.class)
+    public void startSeeding() {
+        Thread thread = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                initializeRoles();
+                initializeUser();
+                startupReport.seedingFinished(Duration.ofNanos(System.nanoTime() - start));
+                seeded.complete(null);
+            } catch (Exception e) {
+                seeded.completeExceptionally(e);
+            }
+        }, "data-seeding");
+        thread.setDaemon(true);
+        thread.start();
     }
 
-    private void initializeRoles() {
-        Arrays.stream(ERole.values()).forEach(role -> {
-            if (roleRepository.findByName(role).isEmpty()) {
-                roleRepository.save(new Role(role));
-                System.out.println("✔ Rol creado: " + role.name());
-            } else {
-                System.out.println("ℹ Rol ya existe: " + role.name());
+    // Último de los listeners de ready: un fallo de la carga inicial hace fallar el arranque, como antes.
+    // Spring Boot publica ACCEPTING_TRAFFIC recién cuando vuelve este listener, así que no se corta por
+    // tiempo: app.seeding.timeout solo marca cada cuánto se avisa que la carga sigue en curso.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void awaitSeeding() throws Exception {
+        long waited = 0;
+        while (true) {
+            try {
+                seeded.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error en la carga inicial de datos", e.getCause());
+            } catch (TimeoutException e) {
+                waited += timeout.toSeconds();
+                log.warn("La carga inicial de datos sigue en curso tras {}s; la app no acepta tráfico todavía", waited);
             }
-        });
+        }
+    }
+
+    private void initializeRoles() {
+        roleRegistry.load();
+        roleRegistry.all().forEach(role -> log.info("Rol disponible: {}", role.getName().name()));
     }
 
 
@@ -58,7 +106,7 @@ public class DataInitializer implements ApplicationListener<ContextRefreshedEven
             );
             adminUser.setRoles(List.of(
 
-                    roleRepository.findByName(ERole.ADMIN).orElseThrow()
+                    roleRegistry.get(ERole.ADMIN)
             ));
 
             userRepository.save(adminUser);
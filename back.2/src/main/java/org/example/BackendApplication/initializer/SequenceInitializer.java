@@ -0,0 +1,46 @@
+package org.example.BackendApplication.initializer;
+
+import org.example.BackendApplication.models.Role;
+import org.example.BackendApplication.models.Users;
+import org.example.BackendApplication.repository.SequenceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+// Ajuste de las secuencias de ids antes de cualquier insert: las filas creadas con IDENTITY no deben chocar
+// con los bloques de la secuencia. Corre en el arranque de lifecycle con una fase anterior a la del servidor
+// web, así Tomcat no acepta peticiones (signup, importación) hasta que termina; y no en un @PostConstruct,
+// para que un refresh sin BD (entrenamiento CDS con spring.context.exit=onRefresh) no toque la base.
+@Component
+public class SequenceInitializer implements SmartLifecycle {
+
+    // menor que la fase del servidor web (cerca de Integer.MAX_VALUE)
+    private static final int PHASE = 0;
+
+    @Autowired
+    SequenceRepository sequenceRepository;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        sequenceRepository.sync(Role.ID_SEQUENCE, "role", Users.ID_ALLOCATION);
+        sequenceRepository.sync(Users.ID_SEQUENCE, "usuarios", Users.ID_ALLOCATION);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
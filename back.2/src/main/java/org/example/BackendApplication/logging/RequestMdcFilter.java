@@ -0,0 +1,48 @@
+package org.example.BackendApplication.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+// Primer filtro de la cadena: pone requestId en el MDC (y en el encabezado X-Request-Id de la respuesta)
+// para que todas las líneas de log de la petición se puedan correlacionar. El username lo agrega
+// JwtValidationFilter al autenticar; los dos se limpian aquí al terminar, el hilo vuelve al pool de Tomcat.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestMdcFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID = "requestId";
+    public static final String USERNAME = "username";
+
+    // el id que manda un proxy se respeta solo si es corto y sin caracteres raros (va tal cual a los logs)
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_ID.matcher(requestId).matches()) {
+            requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        }
+        MDC.put(REQUEST_ID, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID);
+            MDC.remove(USERNAME);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.BackendApplication.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Limita las trazas completas por tipo de excepción: las primeras logging.stack-traces.per-window de cada
+// ventana van con traza, el resto solo con una línea (tipo + mensaje). En una ráfaga de errores iguales
+// (BD caída, disco lleno) el log no se llena de miles de trazas idénticas ni satura el appender.
+@Component
+public class StackTraceSampler {
+
+    private final int perWindow;
+    private final long windowNanos;
+    private final Counter suppressed;
+    private final ConcurrentHashMap<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    public StackTraceSampler(MeterRegistry registry,
+                             @Value("${logging.stack-traces.per-window:5}") int perWindow,
+                             @Value("${logging.stack-traces.window:1m}") Duration window) {
+        this.perWindow = perWindow;
+        this.windowNanos = window.toNanos();
+        this.suppressed = Counter.builder("logging.stacktraces.suppressed").register(registry);
+    }
+
+    public void error(Logger log, String message, Throwable e) {
+        Window window = windows.computeIfAbsent(e.getClass(), type -> new Window(System.nanoTime()));
+        long omitted = window.rollIfExpired(System.nanoTime(), windowNanos);
+        if (window.count.incrementAndGet() <= perWindow) {
+            if (omitted > 0) {
+                log.error("{} (se omitieron {} trazas de {} en la ventana anterior)",
+                        message, omitted, e.getClass().getSimpleName(), e);
+            } else {
+                log.error(message, e);
+            }
+            return;
+        }
+        window.suppressed.incrementAndGet();
+        suppressed.increment();
+        log.error("{}: {} (traza omitida)", message, e.toString());
+    }
+
+    private static final class Window {
+        private volatile long start;
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        // Devuelve cuántas trazas se omitieron en la ventana que termina (0 si sigue vigente)
+        private long rollIfExpired(long now, long windowNanos) {
+            if (now - start < windowNanos) {
+                return 0;
+            }
+            synchronized (this) {
+                if (now - start < windowNanos) {
+                    return 0;
+                }
+                start = now;
+                count.set(0);
+                return suppressed.getAndSet(0);
+            }
+        }
+    }
+}
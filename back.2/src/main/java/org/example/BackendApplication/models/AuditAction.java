@@ -0,0 +1,11 @@
+package org.example.BackendApplication.models;
+
+public enum AuditAction {
+    SIGNIN,
+    SIGNUP,
+    ACTUALIZACION,
+    CAMBIO_PASSWORD,
+    ELIMINACION,
+    IMPORTACION,
+    LOGOUT
+}
@@ -0,0 +1,85 @@
+package org.example.BackendApplication.models;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Registro de auditoría. Hibernate solo crea la tabla: las filas se insertan por JDBC en lotes (AuditLog)
+@Entity
+@Table(name = "auditoria", indexes = {
+        @Index(name = "idx_auditoria_ocurrido", columnList = "ocurrido"),
+        @Index(name = "idx_auditoria_username", columnList = "username")
+})
+public class AuditEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Instant ocurrido;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false)
+    private AuditAction accion;
+
+    // ok, o el motivo del fallo (credenciales, limitado, saturado, error)
+    @Column(length = 20, nullable = false)
+    private String resultado;
+
+    // usuario afectado
+    private String username;
+
+    // quien hizo la acción (usuario autenticado en la petición); null si era anónima
+    private String actor;
+
+    @Column(length = 45)
+    private String ip;
+
+    @Column(length = 500)
+    private String detalle;
+
+    public AuditEvent() {}
+
+    public AuditEvent(AuditAction accion, String resultado, String username, String actor, String ip, String detalle) {
+        this.ocurrido = Instant.now();
+        this.accion = accion;
+        this.resultado = resultado;
+        this.username = username;
+        this.actor = actor;
+        this.ip = ip;
+        this.detalle = detalle;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Instant getOcurrido() {
+        return ocurrido;
+    }
+
+    public AuditAction getAccion() {
+        return accion;
+    }
+
+    public String getResultado() {
+        return resultado;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public String getIp() {
+        return ip;
+    }
+
+    public String getDetalle() {
+        return detalle;
+    }
+}
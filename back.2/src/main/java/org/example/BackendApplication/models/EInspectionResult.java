@@ -0,0 +1,6 @@
+package org.example.BackendApplication.models;
+
+public enum EInspectionResult {
+    OK,
+    RECH
+}
@@ -0,0 +1,91 @@
+package org.example.BackendApplication.models;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "gates", indexes = {
+        @Index(name = "idx_gates_fecha", columnList = "fecha")
+})
+public class Gate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Número DT
+    @Column(nullable = false, unique = true, length = 40)
+    private String dt;
+
+    @Column(nullable = false)
+    private String origen;
+
+    @Column(nullable = false, length = 20)
+    private String puerta;
+
+    @Column(nullable = false)
+    private LocalDate fecha;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public Gate() {}
+
+    public Gate(String dt, String origen, String puerta, LocalDate fecha) {
+        this.dt = dt;
+        this.origen = origen;
+        this.puerta = puerta;
+        this.fecha = fecha;
+        this.createdAt = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getDt() {
+        return dt;
+    }
+
+    public void setDt(String dt) {
+        this.dt = dt;
+    }
+
+    public String getOrigen() {
+        return origen;
+    }
+
+    public void setOrigen(String origen) {
+        this.origen = origen;
+    }
+
+    public String getPuerta() {
+        return puerta;
+    }
+
+    public void setPuerta(String puerta) {
+        this.puerta = puerta;
+    }
+
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDate fecha) {
+        this.fecha = fecha;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
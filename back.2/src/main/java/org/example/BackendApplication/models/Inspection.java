@@ -0,0 +1,103 @@
+package org.example.BackendApplication.models;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Evento de inspección de un pallet; no se edita, los resúmenes del dashboard se derivan al registrarlo
+@Entity
+@Table(name = "inspecciones", indexes = {
+        @Index(name = "idx_inspecciones_fecha", columnList = "fecha"),
+        @Index(name = "idx_inspecciones_gate", columnList = "gate_id")
+})
+public class Inspection {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "gate_id")
+    private Gate gate;
+
+    @Column(nullable = false, length = 40)
+    private String pallet;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private EInspectionResult resultado;
+
+    private String defecto;
+
+    private String inspector;
+
+    @Column(nullable = false)
+    private Instant fecha;
+
+    public Inspection() {}
+
+    public Inspection(Gate gate, String pallet, EInspectionResult resultado, String defecto, String inspector, Instant fecha) {
+        this.gate = gate;
+        this.pallet = pallet;
+        this.resultado = resultado;
+        this.defecto = defecto;
+        this.inspector = inspector;
+        this.fecha = fecha;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Gate getGate() {
+        return gate;
+    }
+
+    public void setGate(Gate gate) {
+        this.gate = gate;
+    }
+
+    public String getPallet() {
+        return pallet;
+    }
+
+    public void setPallet(String pallet) {
+        this.pallet = pallet;
+    }
+
+    public EInspectionResult getResultado() {
+        return resultado;
+    }
+
+    public void setResultado(EInspectionResult resultado) {
+        this.resultado = resultado;
+    }
+
+    public String getDefecto() {
+        return defecto;
+    }
+
+    public void setDefecto(String defecto) {
+        this.defecto = defecto;
+    }
+
+    public String getInspector() {
+        return inspector;
+    }
+
+    public void setInspector(String inspector) {
+        this.inspector = inspector;
+    }
+
+    public Instant getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(Instant fecha) {
+        this.fecha = fecha;
+    }
+}
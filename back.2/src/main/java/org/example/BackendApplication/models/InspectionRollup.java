@@ -0,0 +1,104 @@
+package org.example.BackendApplication.models;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// Contadores por día, ya agregados al registrar cada inspección.
+// dimension: DIA (clave vacía), GATE (clave = id del gate) o DEFECTO (clave = nombre del defecto)
+@Entity
+@Table(name = "inspeccion_resumen")
+@IdClass(InspectionRollup.Key.class)
+public class InspectionRollup {
+
+    public static final String DIA = "DIA";
+    public static final String GATE = "GATE";
+    public static final String DEFECTO = "DEFECTO";
+
+    @Id
+    private LocalDate dia;
+
+    @Id
+    @Column(length = 10)
+    private String dimension;
+
+    @Id
+    @Column(length = 100)
+    private String clave;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long rechazadas;
+
+    public InspectionRollup() {}
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public void setDia(LocalDate dia) {
+        this.dia = dia;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+
+    public void setClave(String clave) {
+        this.clave = clave;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getRechazadas() {
+        return rechazadas;
+    }
+
+    public void setRechazadas(long rechazadas) {
+        this.rechazadas = rechazadas;
+    }
+
+    public static class Key implements Serializable {
+        private LocalDate dia;
+        private String dimension;
+        private String clave;
+
+        public Key() {}
+
+        public Key(LocalDate dia, String dimension, String clave) {
+            this.dia = dia;
+            this.dimension = dimension;
+            this.clave = clave;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(dia, key.dia) && Objects.equals(dimension, key.dimension) && Objects.equals(clave, key.clave);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dia, dimension, clave);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.BackendApplication.models;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Token individual revocado (logout) hasta su expiración; después la fila se purga
+@Entity
+@Table(name = "token_revocado", indexes = {
+        @Index(name = "idx_token_revocado_expira", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "usuario_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public RevokedToken() {}
+
+    public RevokedToken(String jti, Long userId, Instant expiresAt) {
+        this.jti = jti;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,13 +1,23 @@
 package org.example.BackendApplication.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 @Entity
 @Table(name = "role")
+// los roles no cambian en ejecución (solo se insertan los que falten al arrancar)
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
 public class Role {
 
+    public static final String ID_SEQUENCE = "role_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = Users.ID_ALLOCATION)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,65 @@
+package org.example.BackendApplication.models;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Contenido único de un archivo subido, identificado por su SHA-256
+@Entity
+@Table(name = "archivo_contenido")
+public class StoredBlob {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public StoredBlob() {}
+
+    public StoredBlob(String sha256, long size) {
+        this.sha256 = sha256;
+        this.size = size;
+        this.refCount = 1;
+        this.createdAt = Instant.now();
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public int getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(int refCount) {
+        this.refCount = refCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.BackendApplication.models;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+// Versión de tokens por usuario: los JWT con claim "tv" menor quedan revocados.
+// Solo hay fila para usuarios cuya versión subió (cambio de contraseña, borrado).
+@Entity
+@Table(name = "token_version")
+public class TokenVersion {
+
+    @Id
+    @Column(name = "usuario_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private int version;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public TokenVersion() {}
+
+    public TokenVersion(Long userId, int version) {
+        this.userId = userId;
+        this.version = version;
+        this.updatedAt = Instant.now();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,14 +1,25 @@
     package org.example.BackendApplication.models;
 
     import jakarta.persistence.*;
+    import org.hibernate.annotations.Cache;
+    import org.hibernate.annotations.CacheConcurrencyStrategy;
+
     import java.util.List;
 
     @Entity
-    @Table(name = "usuarios")
+    @Table(name = "usuarios", indexes = {
+            @Index(name = "idx_usuarios_username", columnList = "username"),
+            @Index(name = "idx_usuarios_email", columnList = "email")
+    })
     public class Users {
 
+        // secuencia con bloques de 50: Hibernate (y la importación masiva) reservan ids sin un viaje por fila
+        public static final String ID_SEQUENCE = "usuarios_seq";
+        public static final int ID_ALLOCATION = 50;
+
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+        @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION)
         private Long id;
 
         private String name;
@@ -17,6 +28,7 @@
         private String password;
 
         @ManyToMany(fetch = FetchType.LAZY)
+        @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuarios-roles")
         @JoinTable(name = "usuario_roles",
                 joinColumns = @JoinColumn(name = "usuario_id"),
                 inverseJoinColumns = @JoinColumn(name = "rol_id"))
@@ -36,6 +48,10 @@
             return id;
         }
 
+        public void setId(Long id) {
+            this.id = id;
+        }
+
         public String getName() {
             return name;
         }
@@ -0,0 +1,122 @@
+package org.example.BackendApplication.models.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Lo que DashboardView hoy tiene fijo: series de 7 días, KPIs de hoy/ayer, defectos y últimas inspecciones
+public class DashboardSummaryDto {
+    private LocalDate hoy;
+    private List<LocalDate> dias7d;
+    private List<Long> inspections7d;
+    private List<Long> rejected7d;
+    private long inspecciones30d;
+    private long rechazadas30d;
+    private double aprobacionHoy;
+    private double aprobacionAyer;
+    private Map<String, Long> defectos30d;
+    private List<GateCountDto> topGates7d;
+    private List<InspectionDto> recientes;
+    private Instant generadoEn;
+
+    public DashboardSummaryDto() {
+
+    }
+
+    public LocalDate getHoy() {
+        return hoy;
+    }
+
+    public void setHoy(LocalDate hoy) {
+        this.hoy = hoy;
+    }
+
+    public List<LocalDate> getDias7d() {
+        return dias7d;
+    }
+
+    public void setDias7d(List<LocalDate> dias7d) {
+        this.dias7d = dias7d;
+    }
+
+    public List<Long> getInspections7d() {
+        return inspections7d;
+    }
+
+    public void setInspections7d(List<Long> inspections7d) {
+        this.inspections7d = inspections7d;
+    }
+
+    public List<Long> getRejected7d() {
+        return rejected7d;
+    }
+
+    public void setRejected7d(List<Long> rejected7d) {
+        this.rejected7d = rejected7d;
+    }
+
+    public long getInspecciones30d() {
+        return inspecciones30d;
+    }
+
+    public void setInspecciones30d(long inspecciones30d) {
+        this.inspecciones30d = inspecciones30d;
+    }
+
+    public long getRechazadas30d() {
+        return rechazadas30d;
+    }
+
+    public void setRechazadas30d(long rechazadas30d) {
+        this.rechazadas30d = rechazadas30d;
+    }
+
+    public double getAprobacionHoy() {
+        return aprobacionHoy;
+    }
+
+    public void setAprobacionHoy(double aprobacionHoy) {
+        this.aprobacionHoy = aprobacionHoy;
+    }
+
+    public double getAprobacionAyer() {
+        return aprobacionAyer;
+    }
+
+    public void setAprobacionAyer(double aprobacionAyer) {
+        this.aprobacionAyer = aprobacionAyer;
+    }
+
+    public Map<String, Long> getDefectos30d() {
+        return defectos30d;
+    }
+
+    public void setDefectos30d(Map<String, Long> defectos30d) {
+        this.defectos30d = defectos30d;
+    }
+
+    public List<GateCountDto> getTopGates7d() {
+        return topGates7d;
+    }
+
+    public void setTopGates7d(List<GateCountDto> topGates7d) {
+        this.topGates7d = topGates7d;
+    }
+
+    public List<InspectionDto> getRecientes() {
+        return recientes;
+    }
+
+    public void setRecientes(List<InspectionDto> recientes) {
+        this.recientes = recientes;
+    }
+
+    public Instant getGeneradoEn() {
+        return generadoEn;
+    }
+
+    public void setGeneradoEn(Instant generadoEn) {
+        this.generadoEn = generadoEn;
+    }
+}
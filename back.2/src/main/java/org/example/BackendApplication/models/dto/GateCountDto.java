@@ -0,0 +1,51 @@
+package org.example.BackendApplication.models.dto;
+
+public class GateCountDto {
+    private Long gateId;
+    private String dt;
+    private long total;
+    private long rechazadas;
+
+    public GateCountDto() {
+
+    }
+
+    public GateCountDto(Long gateId, String dt, long total, long rechazadas) {
+        this.gateId = gateId;
+        this.dt = dt;
+        this.total = total;
+        this.rechazadas = rechazadas;
+    }
+
+    public Long getGateId() {
+        return gateId;
+    }
+
+    public void setGateId(Long gateId) {
+        this.gateId = gateId;
+    }
+
+    public String getDt() {
+        return dt;
+    }
+
+    public void setDt(String dt) {
+        this.dt = dt;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getRechazadas() {
+        return rechazadas;
+    }
+
+    public void setRechazadas(long rechazadas) {
+        this.rechazadas = rechazadas;
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.BackendApplication.models.dto;
+
+import org.example.BackendApplication.models.Gate;
+
+import java.time.LocalDate;
+
+public class GateDto {
+    private Long id;
+    private String dt;
+    private String origen;
+    private String puerta;
+    private LocalDate fecha;
+
+    public GateDto() {
+
+    }
+
+    public GateDto(Long id, String dt, String origen, String puerta, LocalDate fecha) {
+        this.id = id;
+        this.dt = dt;
+        this.origen = origen;
+        this.puerta = puerta;
+        this.fecha = fecha;
+    }
+
+    public static GateDto from(Gate gate) {
+        return new GateDto(gate.getId(), gate.getDt(), gate.getOrigen(), gate.getPuerta(), gate.getFecha());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getDt() {
+        return dt;
+    }
+
+    public void setDt(String dt) {
+        this.dt = dt;
+    }
+
+    public String getOrigen() {
+        return origen;
+    }
+
+    public void setOrigen(String origen) {
+        this.origen = origen;
+    }
+
+    public String getPuerta() {
+        return puerta;
+    }
+
+    public void setPuerta(String puerta) {
+        this.puerta = puerta;
+    }
+
+    public LocalDate getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(LocalDate fecha) {
+        this.fecha = fecha;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.BackendApplication.models.dto;
+
+import java.util.List;
+
+public class GatePageDto {
+    private List<GateDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+    // null si no se pidió total=true
+    private Integer total;
+    // el total llegó al tope de conteo: hay al menos esa cantidad
+    private boolean totalCapped;
+
+    public GatePageDto() {
+
+    }
+
+    public GatePageDto(List<GateDto> items, String nextCursor, boolean hasMore, Integer total, boolean totalCapped) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.total = total;
+        this.totalCapped = totalCapped;
+    }
+
+    public List<GateDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<GateDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public boolean isTotalCapped() {
+        return totalCapped;
+    }
+
+    public void setTotalCapped(boolean totalCapped) {
+        this.totalCapped = totalCapped;
+    }
+}
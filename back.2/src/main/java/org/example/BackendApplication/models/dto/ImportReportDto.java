@@ -0,0 +1,53 @@
+package org.example.BackendApplication.models.dto;
+
+import java.util.List;
+
+public class ImportReportDto {
+    private int total;
+    private int created;
+    private int failed;
+    private List<ImportRowResultDto> rows;
+
+    public ImportReportDto() {
+
+    }
+
+    public ImportReportDto(List<ImportRowResultDto> rows) {
+        this.rows = rows;
+        this.total = rows.size();
+        this.created = (int) rows.stream().filter(r -> ImportRowResultDto.CREADO.equals(r.getStatus())).count();
+        this.failed = total - created;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<ImportRowResultDto> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<ImportRowResultDto> rows) {
+        this.rows = rows;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.BackendApplication.models.dto;
+
+public class ImportRowResultDto {
+    public static final String CREADO = "CREADO";
+    public static final String ERROR = "ERROR";
+
+    private int row;
+    private String username;
+    private String status;
+    private String message;
+
+    public ImportRowResultDto() {
+
+    }
+
+    public ImportRowResultDto(int row, String username, String status, String message) {
+        this.row = row;
+        this.username = username;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static ImportRowResultDto creado(int row, String username) {
+        return new ImportRowResultDto(row, username, CREADO, null);
+    }
+
+    public static ImportRowResultDto error(int row, String username, String message) {
+        return new ImportRowResultDto(row, username, ERROR, message);
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
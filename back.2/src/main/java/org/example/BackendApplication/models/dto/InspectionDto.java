@@ -0,0 +1,98 @@
+package org.example.BackendApplication.models.dto;
+
+import org.example.BackendApplication.models.EInspectionResult;
+import org.example.BackendApplication.models.Inspection;
+
+import java.time.Instant;
+
+public class InspectionDto {
+    private Long id;
+    private Long gateId;
+    private String dt;
+    private String pallet;
+    private EInspectionResult resultado;
+    private String defecto;
+    private String inspector;
+    private Instant fecha;
+
+    public InspectionDto() {
+
+    }
+
+    public static InspectionDto from(Inspection inspection) {
+        InspectionDto dto = new InspectionDto();
+        dto.setId(inspection.getId());
+        dto.setGateId(inspection.getGate().getId());
+        dto.setDt(inspection.getGate().getDt());
+        dto.setPallet(inspection.getPallet());
+        dto.setResultado(inspection.getResultado());
+        dto.setDefecto(inspection.getDefecto());
+        dto.setInspector(inspection.getInspector());
+        dto.setFecha(inspection.getFecha());
+        return dto;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGateId() {
+        return gateId;
+    }
+
+    public void setGateId(Long gateId) {
+        this.gateId = gateId;
+    }
+
+    public String getDt() {
+        return dt;
+    }
+
+    public void setDt(String dt) {
+        this.dt = dt;
+    }
+
+    public String getPallet() {
+        return pallet;
+    }
+
+    public void setPallet(String pallet) {
+        this.pallet = pallet;
+    }
+
+    public EInspectionResult getResultado() {
+        return resultado;
+    }
+
+    public void setResultado(EInspectionResult resultado) {
+        this.resultado = resultado;
+    }
+
+    public String getDefecto() {
+        return defecto;
+    }
+
+    public void setDefecto(String defecto) {
+        this.defecto = defecto;
+    }
+
+    public String getInspector() {
+        return inspector;
+    }
+
+    public void setInspector(String inspector) {
+        this.inspector = inspector;
+    }
+
+    public Instant getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(Instant fecha) {
+        this.fecha = fecha;
+    }
+}
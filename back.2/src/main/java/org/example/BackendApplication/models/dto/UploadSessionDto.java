@@ -0,0 +1,61 @@
+package org.example.BackendApplication.models.dto;
+
+public class UploadSessionDto {
+    private String id;
+    private String filename;
+    private long size;
+    private long offset;
+    private boolean complete;
+
+    public UploadSessionDto() {
+
+    }
+
+    public UploadSessionDto(String id, String filename, long size, long offset) {
+        this.id = id;
+        this.filename = filename;
+        this.size = size;
+        this.offset = offset;
+        this.complete = offset == size;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+}
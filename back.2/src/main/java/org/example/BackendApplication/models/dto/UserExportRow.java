@@ -0,0 +1,9 @@
+package org.example.BackendApplication.models.dto;
+
+public interface UserExportRow {
+    Long getId();
+    String getName();
+    String getUsername();
+    String getEmail();
+    String getRoles();
+}
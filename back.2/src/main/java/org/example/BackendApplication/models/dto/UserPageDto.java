@@ -0,0 +1,43 @@
+package org.example.BackendApplication.models.dto;
+
+import java.util.List;
+
+public class UserPageDto {
+    private List<UserSummaryDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public UserPageDto() {
+
+    }
+
+    public UserPageDto(List<UserSummaryDto> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<UserSummaryDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<UserSummaryDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
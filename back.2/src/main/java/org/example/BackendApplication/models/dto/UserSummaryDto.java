@@ -0,0 +1,63 @@
+package org.example.BackendApplication.models.dto;
+
+import java.util.List;
+
+public class UserSummaryDto {
+    private Long id;
+    private String name;
+    private String username;
+    private String email;
+    private List<String> roles;
+
+    public UserSummaryDto() {
+
+    }
+
+    public UserSummaryDto(Long id, String name, String username, String email, List<String> roles) {
+        this.id = id;
+        this.name = name;
+        this.username = username;
+        this.email = email;
+        this.roles = roles;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(List<String> roles) {
+        this.roles = roles;
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.BackendApplication.repository;
+
+import org.example.BackendApplication.models.Gate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface GateRepository extends JpaRepository<Gate, Long> {
+    Optional<Gate> findByDt(String dt);
+
+    // carga del índice en memoria por lotes, sin OFFSET
+    List<Gate> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
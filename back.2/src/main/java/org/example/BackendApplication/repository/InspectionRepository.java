@@ -0,0 +1,14 @@
+package org.example.BackendApplication.repository;
+
+import org.example.BackendApplication.models.Inspection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface InspectionRepository extends JpaRepository<Inspection, Long> {
+
+    @Query("select i from Inspection i join fetch i.gate order by i.id desc")
+    List<Inspection> findRecent(Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package org.example.BackendApplication.repository;
+
+import org.example.BackendApplication.models.InspectionRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface InspectionRollupRepository extends JpaRepository<InspectionRollup, InspectionRollup.Key> {
+
+    List<InspectionRollup> findByDiaGreaterThanEqual(LocalDate desde);
+
+    // insert + update en vez de leer y escribir: dos inspecciones simultáneas no se pisan el contador
+    @Modifying
+    @Query(value = "insert into inspeccion_resumen (dia, dimension, clave, total, rechazadas) " +
+            "values (:dia, :dimension, :clave, 0, 0) on conflict do nothing", nativeQuery = true)
+    void ensureRow(@Param("dia") LocalDate dia, @Param("dimension") String dimension, @Param("clave") String clave);
+
+    @Modifying
+    @Query("update InspectionRollup r set r.total = r.total + 1, r.rechazadas = r.rechazadas + :rechazadas " +
+            "where r.dia = :dia and r.dimension = :dimension and r.clave = :clave")
+    int increment(@Param("dia") LocalDate dia, @Param("dimension") String dimension,
+                  @Param("clave") String clave, @Param("rechazadas") long rechazadas);
+}
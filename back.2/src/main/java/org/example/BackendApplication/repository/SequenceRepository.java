@@ -0,0 +1,52 @@
+package org.example.BackendApplication.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Secuencias con optimizador "pooled": cada nextval es el extremo superior de un bloque de `allocation` ids.
+// Los inserts por JDBC reservan bloques igual que Hibernate, así ambos comparten la secuencia sin chocar.
+@Repository
+public class SequenceRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public List<Long> nextIds(String sequence, int allocation, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long hi = nextValue(sequence);
+            for (long id = Math.max(1, hi - allocation + 1); id <= hi && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    // Al pasar de IDENTITY a secuencia la tabla ya tiene ids: se adelanta la secuencia para que el
+    // próximo bloque quede por encima del máximo. Nunca retrocede, solo consume un bloque al revisar.
+    public void sync(String sequence, String table, int allocation) {
+        Long max = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        long hi = nextValue(sequence);
+        if (hi - allocation + 1 <= max) {
+            jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (max + allocation));
+        }
+    }
+
+    private long nextValue(String sequence) {
+        return jdbcTemplate.queryForObject(dialect().getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+    }
+
+    private Dialect dialect() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.BackendApplication.repository;
+
+import org.example.BackendApplication.models.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    @Modifying
+    @Query("update StoredBlob b set b.refCount = b.refCount + 1 where b.sha256 = :sha256")
+    int incrementRefCount(@Param("sha256") String sha256);
+
+    @Modifying
+    @Query("update StoredBlob b set b.refCount = b.refCount - 1 where b.sha256 = :sha256 and b.refCount > 0")
+    int decrementRefCount(@Param("sha256") String sha256);
+
+    // 1 si el contenido quedó sin referencias y se borró su fila
+    @Modifying
+    @Query("delete from StoredBlob b where b.sha256 = :sha256 and b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("sha256") String sha256);
+}
@@ -0,0 +1,20 @@
+package org.example.BackendApplication.repository;
+
+import org.example.BackendApplication.models.StoredFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface StoredFileRepository extends JpaRepository<StoredFile, Long> {
+    Optional<StoredFile> findByFilename(String filename);
+
+    boolean existsByFilename(String filename);
+
+    // Cantidad de filas borradas: 0 si otra petición ya quitó el alias
+    @Modifying
+    @Query("delete from StoredFile f where f.filename = :filename and f.sha256 = :sha256")
+    int deleteAlias(@Param("filename") String filename, @Param("sha256") String sha256);
+}
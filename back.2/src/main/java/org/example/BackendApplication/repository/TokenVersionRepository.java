@@ -0,0 +1,7 @@
+package org.example.BackendApplication.repository;
+
+import org.example.BackendApplication.models.TokenVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TokenVersionRepository extends JpaRepository<TokenVersion, Long> {
+}
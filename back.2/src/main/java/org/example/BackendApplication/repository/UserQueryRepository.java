@@ -0,0 +1,133 @@
+package org.example.BackendApplication.repository;
+
+import org.example.BackendApplication.models.ERole;
+import org.example.BackendApplication.models.dto.UserPageDto;
+import org.example.BackendApplication.models.dto.UserSummaryDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+// Listados de usuarios como proyección DTO: una sola consulta con los roles agregados
+@Repository
+public class UserQueryRepository {
+
+    // username y email son obligatorios al registrar, por eso el seek usa la columna directa (indexada)
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "u.id",
+            "username", "u.username",
+            "email", "u.email"
+    );
+
+    private static final String SELECT =
+            "select u.id, u.name, u.username, u.email, string_agg(r.name, ',') as roles " +
+            "from usuarios u " +
+            "left join usuario_roles ur on ur.usuario_id = u.id " +
+            "left join role r on r.id = ur.rol_id ";
+
+    private static final String GROUP_BY = "group by u.id, u.name, u.username, u.email ";
+
+    private static final RowMapper<UserSummaryDto> ROW_MAPPER = (rs, rowNum) -> {
+        String roles = rs.getString("roles");
+        return new UserSummaryDto(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("username"),
+                rs.getString("email"),
+                roles == null ? List.of() : Arrays.asList(roles.split(","))
+        );
+    };
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<UserSummaryDto> findAll() {
+        return jdbcTemplate.query(SELECT + GROUP_BY + "order by u.id", ROW_MAPPER);
+    }
+
+    // Roles confirmados en la base: por JDBC, sin vaciar antes los cambios pendientes de la sesión JPA
+    public List<Long> findRoleIds(Long userId) {
+        return jdbcTemplate.queryForList("select rol_id from usuario_roles where usuario_id = :id",
+                Map.of("id", userId), Long.class);
+    }
+
+    public UserPageDto findPage(String q, ERole role, String sort, boolean desc, String cursor, int limit) {
+        String column = SORT_COLUMNS.get(sort);
+        if (column == null) {
+            throw new IllegalArgumentException("Campo de orden inválido: " + sort);
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder where = new StringBuilder("where 1 = 1 ");
+
+        if (q != null && !q.isBlank()) {
+            where.append("and (lower(u.username) like :q escape '\\' or lower(u.email) like :q escape '\\' " +
+                    "or lower(u.name) like :q escape '\\') ");
+            params.addValue("q", "%" + escapeLike(q.trim().toLowerCase()) + "%");
+        }
+
+        if (role != null) {
+            where.append("and exists (select 1 from usuario_roles fr join role frr on frr.id = fr.rol_id " +
+                    "where fr.usuario_id = u.id and frr.name = :role) ");
+            params.addValue("role", role.name());
+        }
+
+        String op = desc ? "<" : ">";
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            params.addValue("cursorId", Long.parseLong(parts[0]));
+            if (column.equals("u.id")) {
+                where.append("and u.id ").append(op).append(" :cursorId ");
+            } else {
+                where.append("and (").append(column).append(", u.id) ").append(op).append(" (:cursorValue, :cursorId) ");
+                params.addValue("cursorValue", parts[1]);
+            }
+        }
+
+        String dir = desc ? "desc" : "asc";
+        String orderBy = column.equals("u.id")
+                ? "order by u.id " + dir + " "
+                : "order by " + column + " " + dir + ", u.id " + dir + " ";
+
+        params.addValue("limit", limit + 1);
+        List<UserSummaryDto> rows = jdbcTemplate.query(
+                SELECT + where + GROUP_BY + orderBy + "limit :limit", params, ROW_MAPPER);
+
+        boolean hasMore = rows.size() > limit;
+        List<UserSummaryDto> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1), sort) : null;
+        return new UserPageDto(items, nextCursor, hasMore);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static String encodeCursor(UserSummaryDto last, String sort) {
+        String value = switch (sort) {
+            case "username" -> last.getUsername();
+            case "email" -> last.getEmail();
+            default -> "";
+        };
+        String raw = last.getId() + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            Long.parseLong(parts[0]);
+            return parts.length == 2 ? parts : new String[]{parts[0], ""};
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
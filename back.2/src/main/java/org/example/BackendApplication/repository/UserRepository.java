@@ -1,14 +1,47 @@
 package org.example.BackendApplication.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.BackendApplication.models.Users;
+import org.example.BackendApplication.models.dto.UserExportRow;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<Users, Long> {
 
     Optional<Users> findByEmail(String email);
     Optional<Users> findByUsername(String username);
+
+    @Query("select u.username as username, u.email as email from Users u " +
+            "where u.username in :usernames or u.email in :emails")
+    List<Credentials> findConflicts(@Param("usernames") Collection<String> usernames,
+                                    @Param("emails") Collection<String> emails);
+
+    // Requiere una transacción abierta para que el driver use un cursor por lotes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "select u.id as id, u.name as name, u.username as username, u.email as email, " +
+            "string_agg(r.name, ',') as roles " +
+            "from usuarios u " +
+            "left join usuario_roles ur on ur.usuario_id = u.id " +
+            "left join role r on r.id = ur.rol_id " +
+            "group by u.id, u.name, u.username, u.email " +
+            "order by u.id", nativeQuery = true)
+    Stream<UserExportRow> streamForExport();
+
+    interface Credentials {
+        String getUsername();
+        String getEmail();
+    }
 }
@@ -0,0 +1,219 @@
+package org.example.BackendApplication.service;
+
+import org.example.BackendApplication.models.EInspectionResult;
+import org.example.BackendApplication.models.Gate;
+import org.example.BackendApplication.models.InspectionRollup;
+import org.example.BackendApplication.models.dto.DashboardSummaryDto;
+import org.example.BackendApplication.models.dto.GateCountDto;
+import org.example.BackendApplication.models.dto.InspectionDto;
+import org.example.BackendApplication.repository.GateRepository;
+import org.example.BackendApplication.repository.InspectionRepository;
+import org.example.BackendApplication.repository.InspectionRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Copia en memoria de inspeccion_resumen para los últimos días: el dashboard no toca la base.
+// Cada inspección se suma aquí al confirmarse su transacción; la recarga periódica corrige
+// cualquier diferencia (escrituras de otra instancia, un evento perdido durante la recarga).
+@Service
+public class DashboardCache {
+
+    private static final int RECENT_SIZE = 10;
+    private static final int TOP_GATES = 5;
+
+    @Autowired
+    private InspectionRollupRepository rollupRepository;
+
+    @Autowired
+    private InspectionRepository inspectionRepository;
+
+    @Autowired
+    private GateRepository gateRepository;
+
+    @Value("${dashboard.zone:America/Santiago}")
+    private ZoneId zone;
+
+    @Value("${dashboard.cache-days:90}")
+    private int cacheDays;
+
+    private volatile State state = new State();
+
+    public LocalDate dayOf(Instant instant) {
+        return instant.atZone(zone).toLocalDate();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${dashboard.reload-interval:10m}", fixedDelayString = "${dashboard.reload-interval:10m}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        State fresh = new State();
+        LocalDate desde = LocalDate.now(zone).minusDays(cacheDays - 1L);
+        Set<Long> gateIds = new HashSet<>();
+        for (InspectionRollup rollup : rollupRepository.findByDiaGreaterThanEqual(desde)) {
+            Counters counters = switch (rollup.getDimension()) {
+                case InspectionRollup.DIA -> fresh.dias.computeIfAbsent(rollup.getDia(), d -> new Counters());
+                case InspectionRollup.GATE -> {
+                    gateIds.add(Long.valueOf(rollup.getClave()));
+                    yield fresh.gates(rollup.getDia()).computeIfAbsent(Long.valueOf(rollup.getClave()), g -> new Counters());
+                }
+                default -> fresh.defectos(rollup.getDia()).computeIfAbsent(rollup.getClave(), k -> new Counters());
+            };
+            counters.total.set(rollup.getTotal());
+            counters.rechazadas.set(rollup.getRechazadas());
+        }
+        for (Gate gate : gateRepository.findAllById(gateIds)) {
+            fresh.gateDt.put(gate.getId(), gate.getDt());
+        }
+        inspectionRepository.findRecent(PageRequest.of(0, RECENT_SIZE))
+                .forEach(inspection -> fresh.recientes.addLast(InspectionDto.from(inspection)));
+        state = fresh;
+    }
+
+    // Llamado después del commit de cada inspección
+    public void apply(InspectionDto inspection) {
+        State current = state;
+        LocalDate dia = dayOf(inspection.getFecha());
+        long rechazada = inspection.getResultado() == EInspectionResult.RECH ? 1 : 0;
+
+        current.dias.computeIfAbsent(dia, d -> new Counters()).add(rechazada);
+        current.gates(dia).computeIfAbsent(inspection.getGateId(), g -> new Counters()).add(rechazada);
+        current.gateDt.put(inspection.getGateId(), inspection.getDt());
+        if (inspection.getDefecto() != null) {
+            current.defectos(dia).computeIfAbsent(inspection.getDefecto(), k -> new Counters()).add(rechazada);
+        }
+        current.recientes.addFirst(inspection);
+        while (current.recientes.size() > RECENT_SIZE) {
+            current.recientes.pollLast();
+        }
+    }
+
+    // Lo que se empuja por SSE tras cada inspección: el evento y cómo quedaron los contadores del día
+    public Map<String, Object> delta(InspectionDto inspection) {
+        LocalDate dia = dayOf(inspection.getFecha());
+        Counters counters = state.dias.get(dia);
+        Map<String, Object> delta = new LinkedHashMap<>();
+        delta.put("inspeccion", inspection);
+        delta.put("dia", dia);
+        delta.put("total", counters == null ? 0 : counters.total.get());
+        delta.put("rechazadas", counters == null ? 0 : counters.rechazadas.get());
+        return delta;
+    }
+
+    public DashboardSummaryDto summary() {
+        State current = state;
+        LocalDate hoy = LocalDate.now(zone);
+        DashboardSummaryDto dto = new DashboardSummaryDto();
+        dto.setHoy(hoy);
+
+        List<LocalDate> dias = new ArrayList<>();
+        List<Long> inspecciones = new ArrayList<>();
+        List<Long> rechazadas = new ArrayList<>();
+        for (int i = 6; i >= 0; i--) {
+            LocalDate dia = hoy.minusDays(i);
+            Counters counters = current.dias.get(dia);
+            dias.add(dia);
+            inspecciones.add(counters == null ? 0 : counters.total.get());
+            rechazadas.add(counters == null ? 0 : counters.rechazadas.get());
+        }
+        dto.setDias7d(dias);
+        dto.setInspections7d(inspecciones);
+        dto.setRejected7d(rechazadas);
+        dto.setAprobacionHoy(aprobacion(inspecciones.get(6), rechazadas.get(6)));
+        dto.setAprobacionAyer(aprobacion(inspecciones.get(5), rechazadas.get(5)));
+
+        long total30 = 0;
+        long rechazadas30 = 0;
+        Map<String, Long> defectos = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            LocalDate dia = hoy.minusDays(i);
+            Counters counters = current.dias.get(dia);
+            if (counters != null) {
+                total30 += counters.total.get();
+                rechazadas30 += counters.rechazadas.get();
+            }
+            Map<String, Counters> delDia = current.defectos.get(dia);
+            if (delDia != null) {
+                delDia.forEach((defecto, c) -> defectos.merge(defecto, c.total.get(), Long::sum));
+            }
+        }
+        dto.setInspecciones30d(total30);
+        dto.setRechazadas30d(rechazadas30);
+        Map<String, Long> defectosOrdenados = new LinkedHashMap<>();
+        defectos.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(e -> defectosOrdenados.put(e.getKey(), e.getValue()));
+        dto.setDefectos30d(defectosOrdenados);
+
+        Map<Long, long[]> porGate = new HashMap<>();
+        for (LocalDate dia : dias) {
+            Map<Long, Counters> delDia = current.gates.get(dia);
+            if (delDia != null) {
+                delDia.forEach((gateId, c) -> {
+                    long[] acc = porGate.computeIfAbsent(gateId, g -> new long[2]);
+                    acc[0] += c.total.get();
+                    acc[1] += c.rechazadas.get();
+                });
+            }
+        }
+        dto.setTopGates7d(porGate.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Long, long[]> e) -> e.getValue()[0]).reversed())
+                .limit(TOP_GATES)
+                .map(e -> new GateCountDto(e.getKey(), current.gateDt.get(e.getKey()), e.getValue()[0], e.getValue()[1]))
+                .toList());
+
+        dto.setRecientes(new ArrayList<>(current.recientes));
+        dto.setGeneradoEn(Instant.now());
+        return dto;
+    }
+
+    private static double aprobacion(long total, long rechazadas) {
+        return total == 0 ? 0 : (double) (total - rechazadas) / total;
+    }
+
+    private static final class Counters {
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong rechazadas = new AtomicLong();
+
+        void add(long rechazada) {
+            total.incrementAndGet();
+            rechazadas.addAndGet(rechazada);
+        }
+    }
+
+    private static final class State {
+        private final Map<LocalDate, Counters> dias = new ConcurrentHashMap<>();
+        private final Map<LocalDate, Map<Long, Counters>> gates = new ConcurrentHashMap<>();
+        private final Map<LocalDate, Map<String, Counters>> defectos = new ConcurrentHashMap<>();
+        private final Map<Long, String> gateDt = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedDeque<InspectionDto> recientes = new ConcurrentLinkedDeque<>();
+
+        Map<Long, Counters> gates(LocalDate dia) {
+            return gates.computeIfAbsent(dia, d -> new ConcurrentHashMap<>());
+        }
+
+        Map<String, Counters> defectos(LocalDate dia) {
+            return defectos.computeIfAbsent(dia, d -> new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.BackendApplication.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Versión por colección para GET condicionales: cada escritura (ya confirmada) la incrementa y el ETag
+// de los listados es bootId + versiones. Con If-None-Match igual se responde 304 sin consultar ni serializar.
+// El bootId cambia en cada arranque, así que un ETag de antes de reiniciar nunca coincide.
+// Son contadores en memoria de esta instancia: con varias instancias, una escritura hecha en otra
+// no cambia este ETag (igual que las cachés locales de usuarios y roles).
+@Component
+public class DataVersions {
+
+    public static final String USUARIOS = "usuarios";
+    public static final String ROLES = "roles";
+
+    private final String bootId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, Version> versions = Map.of(
+            USUARIOS, new Version(),
+            ROLES, new Version()
+    );
+
+    // Llamar después del commit: al revés, un lector podría guardar datos viejos con el ETag nuevo.
+    // Por lo mismo, el cuerpo de una respuesta con este ETag se lee del primario, nunca de una réplica
+    // (que puede no tener todavía la escritura que ya subió la versión)
+    public void bump(String collection) {
+        Version version = versions.get(collection);
+        // Last-Modified tiene resolución de segundos: redondeando hacia arriba, una escritura en el mismo
+        // segundo que la última respuesta igual cambia el valor para quien solo manda If-Modified-Since.
+        // Y siempre avanza al menos un segundo: dos escrituras en el mismo segundo no pueden dar el mismo
+        // valor (en una ráfaga puede adelantarse al reloj, que es preferible a un 304 con datos viejos)
+        long ceiling = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        version.lastModified.accumulateAndGet(ceiling, (previous, next) -> Math.max(next, previous + 1000));
+        version.counter.incrementAndGet();
+    }
+
+    // true = ya se armó el 304 (con ETag y Last-Modified); si no, los encabezados quedan puestos para el 200
+    public boolean checkNotModified(WebRequest request, String... collections) {
+        StringBuilder etag = new StringBuilder("\"").append(bootId);
+        long lastModified = 0;
+        for (String collection : collections) {
+            Version version = versions.get(collection);
+            etag.append('-').append(version.counter.get());
+            lastModified = Math.max(lastModified, version.lastModified.get());
+        }
+        return request.checkNotModified(etag.append('"').toString(), lastModified);
+    }
+
+    private static final class Version {
+        private final AtomicLong counter = new AtomicLong();
+        private final AtomicLong lastModified = new AtomicLong(System.currentTimeMillis());
+    }
+}
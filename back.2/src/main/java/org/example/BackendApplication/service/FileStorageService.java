@@ -0,0 +1,389 @@
+package org.example.BackendApplication.service;
+
+import jakarta.annotation.PreDestroy;
+import org.example.BackendApplication.models.StoredBlob;
+import org.example.BackendApplication.models.StoredFile;
+import org.example.BackendApplication.repository.StoredBlobRepository;
+import org.example.BackendApplication.repository.StoredFileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+// Almacenamiento direccionado por contenido: objects/ab/cd/<sha256>, un solo archivo por contenido.
+// Los nombres que ve el cliente son alias (tabla archivos) con conteo de referencias en archivo_contenido.
+@Service
+public class FileStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(FileStorageService.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    // resultado del borrado de un alias
+    private static final int DELETE_NOT_FOUND = 0;
+    private static final int DELETE_SHARED = 1;
+    private static final int DELETE_ORPHAN = 2;
+
+    private final Path uploadPath;
+    private final Path objectsPath;
+    private final Path tmpPath;
+    private final boolean migrateLegacy;
+    private final long precompressMaxSize;
+    private final StoredBlobRepository blobRepository;
+    private final StoredFileRepository fileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    // compresión de variantes .gz fuera del hilo de la petición y sin el lock del hash
+    private final ThreadPoolExecutor precompressExecutor;
+    // serializa la migración de archivos planos entre el arranque y las descargas que la adelantan
+    private final ReentrantLock legacyLock = new ReentrantLock();
+    private volatile boolean stopping;
+
+    public FileStorageService(@Value("${file.uploadDir}") String uploadDir,
+                              @Value("${file.storage.migrate-legacy:true}") boolean migrateLegacy,
+                              @Value("${file.storage.precompress-max-size:50MB}") DataSize precompressMaxSize,
+                              @Value("${file.storage.precompress-queue:100}") int precompressQueue,
+                              StoredBlobRepository blobRepository,
+                              StoredFileRepository fileRepository,
+                              TransactionTemplate transactionTemplate) {
+        this.uploadPath = Paths.get(uploadDir);
+        this.objectsPath = uploadPath.resolve("objects");
+        this.tmpPath = uploadPath.resolve(".tmp");
+        this.migrateLegacy = migrateLegacy;
+        this.precompressMaxSize = precompressMaxSize.toBytes();
+        this.blobRepository = blobRepository;
+        this.fileRepository = fileRepository;
+        this.transactionTemplate = transactionTemplate;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.precompressExecutor = new ThreadPoolExecutor(
+                1, 1,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(precompressQueue),
+                r -> {
+                    Thread t = new Thread(r, "precompress");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public Path getUploadPath() {
+        return uploadPath;
+    }
+
+    // El hash se calcula mientras se copia al temporal: una sola pasada sobre los bytes
+    public String store(InputStream in, String originalName) throws IOException {
+        Files.createDirectories(tmpPath);
+        Path temp = Files.createTempFile(tmpPath, "up", ".tmp");
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+            try (DigestInputStream hashing = new DigestInputStream(in, digest)) {
+                size = Files.copy(hashing, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return commit(temp, hex(digest.digest()), size, originalName, null);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Para archivos ya escritos en disco (subidas por sesión); sha256 null = se calcula aquí
+    public String storeFile(Path source, String sha256, String originalName) throws IOException {
+        String hash = sha256 != null ? sha256 : sha256Of(source);
+        String filename = commit(source, hash, Files.size(source), originalName, null);
+        // si el contenido ya existía, el archivo fuente sobra
+        Files.deleteIfExists(source);
+        return filename;
+    }
+
+    public Optional<StoredFile> find(String filename) {
+        return fileRepository.findByFilename(filename);
+    }
+
+    // Como find, pero un archivo que sigue plano en uploadDir (la migración de arranque corre en segundo
+    // plano con Tomcat ya atendiendo, o quedó desactivada) se migra en el momento: las URLs viejas nunca dan 404
+    public Optional<StoredFile> findOrMigrate(String filename) throws IOException {
+        Optional<StoredFile> file = find(filename);
+        if (file.isPresent()) {
+            return file;
+        }
+        Path legacy = uploadPath.resolve(filename).normalize();
+        // con la migración en curso el archivo ya puede estar movido al objeto sin alias confirmado:
+        // se espera el lock antes de dar 404
+        if (!uploadPath.normalize().equals(legacy.getParent())
+                || (!Files.isRegularFile(legacy) && !legacyLock.isLocked())) {
+            return file;
+        }
+        migrateLegacyFile(legacy);
+        return find(filename);
+    }
+
+    public Path objectPath(String sha256) {
+        return objectsPath.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    // Variante precomprimida junto al objeto (".gz", ".br"); puede no existir
+    public Path variantPath(String sha256, String suffix) {
+        return objectPath(sha256).resolveSibling(sha256 + suffix);
+    }
+
+    public static boolean isCompressible(MediaType type) {
+        return type.getType().equals("text")
+                || type.getSubtype().endsWith("json")
+                || type.getSubtype().endsWith("xml")
+                || type.getSubtype().equals("javascript")
+                || type.getSubtype().equals("csv");
+    }
+
+    // Quita el alias; el contenido se borra cuando ya nadie lo referencia.
+    // La primera lectura solo da el hash para elegir el lock: dos borrados del mismo alias pueden pasarla a la
+    // vez, así que dentro del lock y la transacción manda la cantidad de filas borradas, y solo quien quitó
+    // el alias descuenta la referencia (el otro devuelve false, como si no existiera).
+    public boolean delete(String filename) throws IOException {
+        StoredFile file = fileRepository.findByFilename(filename).orElse(null);
+        if (file == null) {
+            return false;
+        }
+        String sha256 = file.getSha256();
+        ReentrantLock lock = lockFor(sha256);
+        lock.lock();
+        try {
+            Integer outcome = transactionTemplate.execute(status -> {
+                if (fileRepository.deleteAlias(filename, sha256) != 1) {
+                    return DELETE_NOT_FOUND;
+                }
+                blobRepository.decrementRefCount(sha256);
+                return blobRepository.deleteIfUnreferenced(sha256) == 1 ? DELETE_ORPHAN : DELETE_SHARED;
+            });
+            if (outcome == null || outcome == DELETE_NOT_FOUND) {
+                return false;
+            }
+            if (outcome == DELETE_ORPHAN) {
+                // objeto, variantes comprimidas y miniaturas comparten el prefijo del hash
+                Path object = objectPath(sha256);
+                try (DirectoryStream<Path> derived = Files.newDirectoryStream(object.getParent(), sha256 + "*")) {
+                    for (Path path : derived) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Archivos que quedaron planos en uploadDir antes del almacenamiento por hash: conservan su nombre como alias.
+    // Corre en segundo plano para no demorar el ACCEPTING_TRAFFIC (con muchos archivos son minutos de hash);
+    // mientras tanto findOrMigrate adelanta los que se piden.
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLegacyMigration() {
+        if (!migrateLegacy || !Files.isDirectory(uploadPath)) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                migrateLegacyFiles();
+            } catch (Exception e) {
+                if (!stopping) {
+                    log.error("Falló la migración de archivos planos; se completará en las descargas", e);
+                }
+            }
+        }, "legacy-migration");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    void migrateLegacyFiles() throws IOException {
+        int migrated = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(uploadPath, Files::isRegularFile)) {
+            for (Path legacy : entries) {
+                if (stopping) {
+                    return;
+                }
+                if (migrateLegacyFile(legacy)) {
+                    migrated++;
+                }
+            }
+        }
+        if (migrated > 0) {
+            log.info("Migrados {} archivos planos al almacenamiento por hash", migrated);
+        }
+    }
+
+    private boolean migrateLegacyFile(Path legacy) throws IOException {
+        legacyLock.lock();
+        try {
+            String filename = legacy.getFileName().toString();
+            if (!Files.isRegularFile(legacy) || fileRepository.existsByFilename(filename)) {
+                return false;
+            }
+            commit(legacy, sha256Of(legacy), Files.size(legacy), filename, filename);
+            Files.deleteIfExists(legacy);
+            return true;
+        } finally {
+            legacyLock.unlock();
+        }
+    }
+
+    private String commit(Path source, String sha256, long size, String originalName, String alias) throws IOException {
+        Path target = objectPath(sha256);
+        ReentrantLock lock = lockFor(sha256);
+        lock.lock();
+        try {
+            // contenido repetido: no se vuelve a escribir, solo se suma una referencia
+            boolean moved = false;
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                moved = true;
+            }
+            String filename;
+            try {
+                filename = transactionTemplate.execute(status -> {
+                    if (blobRepository.incrementRefCount(sha256) == 0) {
+                        blobRepository.save(new StoredBlob(sha256, size));
+                    }
+                    String name = alias != null ? alias : uniqueName(originalName);
+                    while (alias == null && fileRepository.existsByFilename(name)) {
+                        name = uniqueName(originalName);
+                    }
+                    fileRepository.save(new StoredFile(name, originalName, sha256, size));
+                    return name;
+                });
+            } catch (RuntimeException e) {
+                if (moved && !blobRepository.existsById(sha256)) {
+                    Files.deleteIfExists(target);
+                }
+                throw e;
+            }
+            if (moved && size <= precompressMaxSize) {
+                schedulePrecompress(sha256, originalName);
+            }
+            return filename;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void schedulePrecompress(String sha256, String originalName) {
+        MediaType type = MediaTypeFactory.getMediaType(originalName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        if (!isCompressible(type)) {
+            return;
+        }
+        try {
+            precompressExecutor.execute(() -> precompress(sha256));
+        } catch (RejectedExecutionException e) {
+            // cola llena: el archivo se sirve sin comprimir, la variante es solo una optimización
+            log.debug("Cola de compresión llena, se omite la variante gzip de {}", sha256);
+        }
+    }
+
+    // Se comprime una sola vez por contenido; la descarga sirve el .gz a quien lo acepte.
+    // Solo la publicación del .gz toma el lock del hash: si el contenido se borró mientras tanto, se descarta.
+    private void precompress(String sha256) {
+        Path object = objectPath(sha256);
+        Path gz = variantPath(sha256, ".gz");
+        try {
+            Files.createDirectories(tmpPath);
+            Path temp = Files.createTempFile(tmpPath, "gz", ".tmp");
+            try {
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                    Files.copy(object, out);
+                }
+                // si no ahorra al menos un 10% no vale la pena servirlo
+                if (Files.size(temp) < Files.size(object) * 9 / 10) {
+                    ReentrantLock lock = lockFor(sha256);
+                    lock.lock();
+                    try {
+                        if (Files.exists(object)) {
+                            Files.move(temp, gz, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // la variante es opcional: sin ella se sirve el original
+            log.warn("No se pudo generar la variante gzip de {}: {}", object.getFileName(), e.toString());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        precompressExecutor.shutdownNow();
+    }
+
+    private ReentrantLock lockFor(String sha256) {
+        return locks[Integer.parseInt(sha256.substring(0, 2), 16) % LOCK_STRIPES];
+    }
+
+    private static String sha256Of(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return hex(digest.digest());
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String hex(byte[] hash) {
+        return HexFormat.of().formatHex(hash);
+    }
+
+    public static String sanitize(String originalName) {
+        String name = originalName.trim().replace('\\', '/');
+        name = name.substring(name.lastIndexOf('/') + 1);
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+            name = "archivo";
+        }
+        return name.replaceAll("\\s+", "_").replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static String uniqueName(String originalName) {
+        String token = UUID.randomUUID().toString().substring(0, 8);
+        return System.currentTimeMillis() + "_" + token + "_" + sanitize(originalName);
+    }
+}
@@ -0,0 +1,347 @@
+package org.example.BackendApplication.service;
+
+import org.example.BackendApplication.models.Gate;
+import org.example.BackendApplication.models.dto.GateDto;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice de trigramas en memoria sobre DT, origen y puerta.
+// Los trigramas del texto buscado reducen los candidatos; cada candidato se confirma con contains(),
+// así que una lista con ids de versiones viejas solo cuesta una verificación de más.
+// Cada página arranca en el cursor y corta al encontrar limit+1 coincidencias; el recorrido además
+// tiene un tope de entradas examinadas (consultas de 1-2 caracteres o filtros con pocas coincidencias),
+// y al llegar al tope la página sale incompleta con un cursor para seguir desde ahí.
+//
+// Costo y límites: cada instancia guarda una copia de toda la tabla gates (DTO + texto normalizado +
+// listas de trigramas), del orden de 1 KB por gate: 100 mil gates ~ 100 MB de heap.
+// Solo ve las escrituras hechas a través de esta instancia (GateService); lo que cambie otra instancia
+// o un proceso externo sobre la tabla no aparece aquí hasta reiniciar, así que con varias instancias
+// los resultados pueden diferir entre ellas.
+@Component
+public class GateSearchIndex {
+
+    // entradas que puede examinar una página antes de devolverla incompleta
+    static final int SCAN_BUDGET = 20_000;
+    // el total (opcional) se cuenta hasta aquí; más allá se informa como tope
+    static final int MAX_TOTAL = 1_000;
+
+    // separa los campos para que un trigrama no cruce de "origen" a "puerta"
+    private static final char FIELD_SEPARATOR = '\u0001';
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Long, Entry> entries = new TreeMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    // ids borrados mientras corre la carga inicial: la carga no debe revivirlos
+    private final Set<Long> removedWhileLoading = new HashSet<>();
+    private volatile boolean ready;
+    private boolean loading;
+    private long staleRefs;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void startLoading() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Lote de la carga inicial: no pisa lo que ya escribieron altas/ediciones concurrentes
+    public void load(List<Gate> batch) {
+        lock.writeLock().lock();
+        try {
+            for (Gate gate : batch) {
+                if (!entries.containsKey(gate.getId()) && !removedWhileLoading.contains(gate.getId())) {
+                    add(new Entry(GateDto.from(gate)));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishLoading() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            removedWhileLoading.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Gate gate) {
+        lock.writeLock().lock();
+        try {
+            if (entries.containsKey(gate.getId())) {
+                staleRefs++;
+            }
+            add(new Entry(GateDto.from(gate)));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (entries.remove(id) != null) {
+                staleRefs++;
+            }
+            if (loading) {
+                removedWhileLoading.add(id);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, LocalDate fecha, Long afterId, boolean desc, int limit, boolean withTotal) {
+        String q = query == null ? "" : normalize(query.trim());
+        lock.readLock().lock();
+        try {
+            long[] candidates = q.length() >= 3 ? candidates(q) : null;
+            List<GateDto> items = new ArrayList<>(limit);
+            boolean hasMore = false;
+            Long nextAfterId = null;
+            int examined = 0;
+
+            Iterator<Entry> iterator = iterator(candidates, afterId, desc);
+            while (iterator.hasNext()) {
+                if (examined == SCAN_BUDGET) {
+                    // página incompleta: el siguiente pedido sigue desde la última entrada examinada
+                    hasMore = true;
+                    break;
+                }
+                Entry entry = iterator.next();
+                examined++;
+                if (!entry.matches(q, fecha)) {
+                    nextAfterId = entry.gate.getId();
+                    continue;
+                }
+                if (items.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                items.add(entry.gate);
+                nextAfterId = entry.gate.getId();
+            }
+
+            Integer total = null;
+            boolean totalCapped = false;
+            if (withTotal) {
+                int count = 0;
+                examined = 0;
+                Iterator<Entry> all = iterator(candidates, null, desc);
+                while (all.hasNext() && count < MAX_TOTAL && examined < SCAN_BUDGET) {
+                    examined++;
+                    if (all.next().matches(q, fecha)) {
+                        count++;
+                    }
+                }
+                total = count;
+                totalCapped = all.hasNext() && (count == MAX_TOTAL || examined == SCAN_BUDGET);
+            }
+            return new SearchResult(items, hasMore, hasMore ? nextAfterId : null, total, totalCapped);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Recorrido desde el cursor (excluido): por candidatos si hubo trigramas, si no por todas las entradas
+    private Iterator<Entry> iterator(long[] candidates, Long afterId, boolean desc) {
+        if (candidates != null) {
+            int from = 0;
+            if (afterId != null) {
+                int pos = Arrays.binarySearch(candidates, afterId);
+                // asc: primer id > afterId; desc: último id < afterId
+                from = pos >= 0 ? (desc ? pos - 1 : pos + 1) : (desc ? -pos - 2 : -pos - 1);
+            } else if (desc) {
+                from = candidates.length - 1;
+            }
+            return candidateIterator(candidates, from, desc);
+        }
+        NavigableMap<Long, Entry> range = afterId == null ? entries
+                : desc ? entries.headMap(afterId, false) : entries.tailMap(afterId, false);
+        return (desc ? range.descendingMap() : range).values().iterator();
+    }
+
+    // Intersección de las listas de cada trigrama, empezando por la más corta
+    private long[] candidates(String q) {
+        List<PostingList> lists = new ArrayList<>();
+        for (long trigram : trigrams(q)) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        long[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).retainAll(result);
+        }
+        return result;
+    }
+
+    private Iterator<Entry> candidateIterator(long[] ids, int from, boolean desc) {
+        return new Iterator<>() {
+            private int index = from;
+            private Entry next = advance();
+
+            private Entry advance() {
+                while (desc ? index >= 0 : index < ids.length) {
+                    Entry entry = entries.get(ids[desc ? index-- : index++]);
+                    if (entry != null) {
+                        return entry;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Entry next() {
+                Entry current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    private void add(Entry entry) {
+        entries.put(entry.gate.getId(), entry);
+        for (long trigram : trigrams(entry.text)) {
+            postings.computeIfAbsent(trigram, k -> new PostingList()).add(entry.gate.getId());
+        }
+    }
+
+    // Las ediciones y bajas dejan ids viejos en las listas; se reconstruye cuando ya son mayoría
+    private void compactIfNeeded() {
+        if (staleRefs <= Math.max(1000, entries.size())) {
+            return;
+        }
+        postings.clear();
+        NavigableMap<Long, Entry> current = new TreeMap<>(entries);
+        entries.clear();
+        for (Entry entry : current.values()) {
+            add(entry);
+        }
+        staleRefs = 0;
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return result;
+    }
+
+    static String normalize(String value) {
+        String stripped = Normalizer.normalize(value, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+        private final GateDto gate;
+        private final String text;
+
+        Entry(GateDto gate) {
+            this.gate = gate;
+            this.text = normalize(gate.getDt()) + FIELD_SEPARATOR
+                    + normalize(gate.getOrigen()) + FIELD_SEPARATOR
+                    + normalize(gate.getPuerta());
+        }
+
+        boolean matches(String q, LocalDate fecha) {
+            return (fecha == null || fecha.equals(gate.getFecha())) && (q.isEmpty() || text.contains(q));
+        }
+    }
+
+    // Ids ordenados; las altas nuevas llegan con id creciente y casi siempre van al final
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int pos = Arrays.binarySearch(ids, 0, size, id);
+                if (pos >= 0) {
+                    return;
+                }
+                insertAt(-pos - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        private void insertAt(int pos, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        long[] retainAll(long[] sorted) {
+            long[] out = new long[Math.min(sorted.length, size)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < sorted.length && j < size) {
+                if (sorted[i] == ids[j]) {
+                    out[n++] = sorted[i];
+                    i++;
+                    j++;
+                } else if (sorted[i] < ids[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+    }
+
+    // nextAfterId: desde dónde sigue la próxima página (null sin más resultados).
+    // total: null si no se pidió; con totalCapped es un mínimo, no el total exacto.
+    public record SearchResult(List<GateDto> items, boolean hasMore, Long nextAfterId,
+                               Integer total, boolean totalCapped) {
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.BackendApplication.service;
+
+import org.example.BackendApplication.models.Gate;
+import org.example.BackendApplication.models.dto.GateDto;
+import org.example.BackendApplication.models.dto.GatePageDto;
+import org.example.BackendApplication.repository.GateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class GateService {
+
+    private static final int LOAD_BATCH = 5000;
+
+    @Autowired
+    private GateRepository gateRepository;
+
+    @Autowired
+    private GateSearchIndex gateSearchIndex;
+
+    @Autowired
+    private LiveEventBroadcaster broadcaster;
+
+    // El índice se arma después de levantar: mientras tanto la búsqueda responde 503
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        gateSearchIndex.startLoading();
+        long lastId = 0;
+        while (true) {
+            List<Gate> batch = gateRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, LOAD_BATCH));
+            if (batch.isEmpty()) {
+                break;
+            }
+            gateSearchIndex.load(batch);
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        gateSearchIndex.finishLoading();
+    }
+
+    public GatePageDto buscar(String q, LocalDate fecha, String cursor, boolean desc, int limit, boolean withTotal) {
+        if (!gateSearchIndex.isReady()) {
+            throw new IllegalStateException("El índice de gates se está cargando");
+        }
+        Long afterId = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+        GateSearchIndex.SearchResult result = gateSearchIndex.search(q, fecha, afterId, desc, limit, withTotal);
+        // el cursor puede apuntar a una entrada que no coincide: la página se cortó por el tope de recorrido
+        String nextCursor = result.nextAfterId() != null ? encodeCursor(result.nextAfterId()) : null;
+        return new GatePageDto(result.items(), nextCursor, result.hasMore(), result.total(), result.totalCapped());
+    }
+
+    public Optional<Gate> obtener(Long id) {
+        return gateRepository.findById(id);
+    }
+
+    public Gate crear(GateDto dto) {
+        validar(dto);
+        if (gateRepository.findByDt(dto.getDt().trim()).isPresent()) {
+            throw new DuplicateGateException(dto.getDt().trim());
+        }
+        Gate gate = new Gate(dto.getDt().trim(), dto.getOrigen().trim(), dto.getPuerta().trim(),
+                dto.getFecha() != null ? dto.getFecha() : LocalDate.now());
+        Gate saved = gateRepository.save(gate);
+        gateSearchIndex.put(saved);
+        broadcaster.publish(LiveEventBroadcaster.GATES, Map.of("accion", "creado", "gate", GateDto.from(saved)));
+        return saved;
+    }
+
+    public Optional<Gate> actualizar(Long id, GateDto dto) {
+        validar(dto);
+        Optional<Gate> existing = gateRepository.findById(id);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<Gate> sameDt = gateRepository.findByDt(dto.getDt().trim());
+        if (sameDt.isPresent() && !sameDt.get().getId().equals(id)) {
+            throw new DuplicateGateException(dto.getDt().trim());
+        }
+        Gate gate = existing.get();
+        gate.setDt(dto.getDt().trim());
+        gate.setOrigen(dto.getOrigen().trim());
+        gate.setPuerta(dto.getPuerta().trim());
+        if (dto.getFecha() != null) {
+            gate.setFecha(dto.getFecha());
+        }
+        Gate saved = gateRepository.save(gate);
+        gateSearchIndex.put(saved);
+        broadcaster.publish(LiveEventBroadcaster.GATES, Map.of("accion", "actualizado", "gate", GateDto.from(saved)));
+        return Optional.of(saved);
+    }
+
+    public boolean eliminar(Long id) {
+        if (!gateRepository.existsById(id)) {
+            return false;
+        }
+        gateRepository.deleteById(id);
+        gateSearchIndex.remove(id);
+        broadcaster.publish(LiveEventBroadcaster.GATES, Map.of("accion", "eliminado", "id", id));
+        return true;
+    }
+
+    private static void validar(GateDto dto) {
+        if (isBlank(dto.getDt()) || isBlank(dto.getOrigen()) || isBlank(dto.getPuerta())) {
+            throw new IllegalArgumentException("DT, origen y puerta son obligatorios");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public static class DuplicateGateException extends RuntimeException {
+        public DuplicateGateException(String dt) {
+            super("Ya existe un gate con DT " + dt);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.BackendApplication.service;
+
+import org.example.BackendApplication.models.EInspectionResult;
+import org.example.BackendApplication.models.Gate;
+import org.example.BackendApplication.models.Inspection;
+import org.example.BackendApplication.models.InspectionRollup;
+import org.example.BackendApplication.models.dto.InspectionDto;
+import org.example.BackendApplication.repository.GateRepository;
+import org.example.BackendApplication.repository.InspectionRepository;
+import org.example.BackendApplication.repository.InspectionRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Service
+public class InspectionService {
+
+    private static final int MAX_DEFECTO = 100;
+
+    @Autowired
+    private InspectionRepository inspectionRepository;
+
+    @Autowired
+    private InspectionRollupRepository rollupRepository;
+
+    @Autowired
+    private GateRepository gateRepository;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private LiveEventBroadcaster broadcaster;
+
+    // La inspección y sus contadores se escriben en la misma transacción: el resumen nunca queda desfasado
+    @Transactional
+    public InspectionDto registrar(InspectionDto dto, String inspector) {
+        if (dto.getGateId() == null || dto.getPallet() == null || dto.getPallet().isBlank() || dto.getResultado() == null) {
+            throw new IllegalArgumentException("gateId, pallet y resultado son obligatorios");
+        }
+        Gate gate = gateRepository.findById(dto.getGateId())
+                .orElseThrow(() -> new IllegalArgumentException("Gate no encontrado: " + dto.getGateId()));
+        String defecto = dto.getDefecto() == null || dto.getDefecto().isBlank() ? null : dto.getDefecto().trim();
+        if (defecto != null && defecto.length() > MAX_DEFECTO) {
+            throw new IllegalArgumentException("Defecto demasiado largo");
+        }
+        Instant fecha = dto.getFecha() != null ? dto.getFecha() : Instant.now();
+
+        Inspection saved = inspectionRepository.save(
+                new Inspection(gate, dto.getPallet().trim(), dto.getResultado(), defecto, inspector, fecha));
+
+        LocalDate dia = dashboardCache.dayOf(fecha);
+        long rechazada = dto.getResultado() == EInspectionResult.RECH ? 1 : 0;
+        increment(dia, InspectionRollup.DIA, "", rechazada);
+        increment(dia, InspectionRollup.GATE, String.valueOf(gate.getId()), rechazada);
+        if (defecto != null) {
+            increment(dia, InspectionRollup.DEFECTO, defecto, rechazada);
+        }
+
+        InspectionDto result = InspectionDto.from(saved);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dashboardCache.apply(result);
+                broadcaster.publish(LiveEventBroadcaster.DASHBOARD, dashboardCache.delta(result));
+            }
+        });
+        return result;
+    }
+
+    private void increment(LocalDate dia, String dimension, String clave, long rechazada) {
+        rollupRepository.ensureRow(dia, dimension, clave);
+        rollupRepository.increment(dia, dimension, clave, rechazada);
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.BackendApplication.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Canal SSE: publicar solo encola en el buffer acotado de cada suscriptor (nunca bloquea al que publica)
+// y un pool chico de escritores vacía esos buffers hacia los sockets. Si un cliente no alcanza a leer
+// y su buffer se llena, se le corta la conexión; al reconectar con Last-Event-ID recupera lo reciente.
+@Service
+public class LiveEventBroadcaster {
+
+    public static final String DASHBOARD = "dashboard";
+    public static final String GATES = "gates";
+    public static final String USUARIOS = "usuarios";
+    public static final Set<String> TOPICS = Set.of(DASHBOARD, GATES, USUARIOS);
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int historySize;
+    private final Duration timeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // últimos eventos, para reanudar desde Last-Event-ID; también ordena publicación y suscripción
+    private final ArrayDeque<LiveEvent> history = new ArrayDeque<>();
+    private final ThreadPoolExecutor writers;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+
+    public LiveEventBroadcaster(@Value("${sse.buffer-size:256}") int bufferSize,
+                                @Value("${sse.max-subscribers:1000}") int maxSubscribers,
+                                @Value("${sse.history-size:200}") int historySize,
+                                @Value("${sse.timeout:30m}") Duration timeout,
+                                @Value("${sse.writer-threads:2}") int writerThreads) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.historySize = Math.min(historySize, bufferSize - 1);
+        this.timeout = timeout;
+        AtomicInteger counter = new AtomicInteger();
+        // como mucho una tarea encolada por suscriptor (ver schedule), así que la cola queda acotada por ellos
+        this.writers = new ThreadPoolExecutor(
+                writerThreads, writerThreads,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "sse-writer-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    public SseEmitter subscribe(Set<String> topics, Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Demasiadas conexiones en vivo, intente más tarde");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(topics, emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        subscriber.queue.offer(new LiveEvent(0, "conectado", Map.of("topics", topics)));
+        synchronized (history) {
+            subscribers.add(subscriber);
+            // historial menor que el buffer: la reanudación nunca desborda al suscriptor recién creado
+            if (lastEventId != null) {
+                for (LiveEvent event : history) {
+                    if (event.id() > lastEventId && subscriber.wants(event.type())) {
+                        subscriber.queue.offer(event);
+                    }
+                }
+            }
+        }
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public void publish(String type, Object data) {
+        published.incrementAndGet();
+        synchronized (history) {
+            LiveEvent event = new LiveEvent(sequence.incrementAndGet(), type, data);
+            history.addLast(event);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.wants(type)) {
+                    enqueue(subscriber, event);
+                }
+            }
+        }
+    }
+
+    // Mantiene viva la conexión a través de proxies y detecta clientes que ya no están
+    @Scheduled(fixedDelayString = "${sse.heartbeat:15s}")
+    public void heartbeat() {
+        LiveEvent ping = new LiveEvent(0, null, null);
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, ping);
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, LiveEvent event) {
+        if (subscriber.queue.offer(event)) {
+            schedule(subscriber);
+        } else if (subscribers.remove(subscriber)) {
+            // consumidor lento: se corta en vez de acumular memoria o frenar al resto
+            droppedSubscribers.incrementAndGet();
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                LiveEvent event;
+                while ((event = subscriber.queue.poll()) != null) {
+                    subscriber.emitter.send(toSse(event));
+                    delivered.incrementAndGet();
+                }
+                subscriber.draining.set(false);
+                // un publish pudo encolar justo después del último poll
+                if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // conexión cerrada por el cliente o emisor ya completado
+            subscribers.remove(subscriber);
+            subscriber.queue.clear();
+            subscriber.draining.set(false);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(LiveEvent event) {
+        if (event.type() == null) {
+            return SseEmitter.event().comment("ping");
+        }
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.type()).data(event.data(), MediaType.APPLICATION_JSON);
+        return event.id() > 0 ? builder.id(String.valueOf(event.id())) : builder;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("published", published.get());
+        stats.put("delivered", delivered.get());
+        stats.put("droppedSubscribers", droppedSubscribers.get());
+        stats.put("lastEventId", sequence.get());
+        stats.put("bufferSize", bufferSize);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        writers.shutdownNow();
+    }
+
+    private static final class Subscriber {
+        private final Set<String> topics;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<LiveEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(Set<String> topics, SseEmitter emitter, int bufferSize) {
+            this.topics = topics;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean wants(String type) {
+            return topics.contains(type);
+        }
+    }
+
+    private record LiveEvent(long id, String type, Object data) {
+    }
+}
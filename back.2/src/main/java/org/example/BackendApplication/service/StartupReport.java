@@ -0,0 +1,113 @@
+package org.example.BackendApplication.service;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Tiempos del arranque: fases, beans más lentos y lo que tarda la carga inicial de datos.
+// Los pasos los registra el BufferingApplicationStartup configurado en BackendApplication.main.
+@Service
+public class StartupReport {
+
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+    private static final int TOP_BEANS = 25;
+
+    @Autowired
+    private ApplicationStartup applicationStartup;
+
+    private volatile long startedMs = -1;
+    private volatile long readyMs = -1;
+    private volatile long jvmUptimeAtReadyMs = -1;
+    private volatile long seedingMs = -1;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onStarted(ApplicationStartedEvent event) {
+        startedMs = millis(event.getTimeTaken());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        readyMs = millis(event.getTimeTaken());
+        jvmUptimeAtReadyMs = ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    public void seedingFinished(Duration duration) {
+        seedingMs = duration.toMillis();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("jvmUptimeAtReadyMs", jvmUptimeAtReadyMs);
+        stats.put("contextStartedMs", startedMs);
+        stats.put("readyMs", readyMs);
+        stats.put("seedingMs", seedingMs);
+        stats.put("aot", AotDetector.useGeneratedArtifacts());
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return stats;
+        }
+
+        List<StartupTimeline.TimelineEvent> events = buffering.getBufferedTimeline().getEvents();
+        // la duración de un bean incluye la de sus dependencias creadas dentro; se resta para obtener la propia
+        Map<Long, Long> childNanos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Long parent = event.getStartupStep().getParentId();
+            if (parent != null) {
+                childNanos.merge(parent, event.getDuration().toNanos(), Long::sum);
+            }
+        }
+
+        Map<String, long[]> phases = new LinkedHashMap<>();
+        List<Map<String, Object>> beans = new ArrayList<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            long total = event.getDuration().toNanos();
+            long[] phase = phases.computeIfAbsent(step.getName(), n -> new long[2]);
+            phase[0]++;
+            phase[1] += total;
+            if (BEAN_STEP.equals(step.getName())) {
+                Map<String, Object> bean = new LinkedHashMap<>();
+                bean.put("bean", tag(step, "beanName"));
+                bean.put("selfMs", (total - childNanos.getOrDefault(step.getId(), 0L)) / 1_000_000.0);
+                bean.put("totalMs", total / 1_000_000.0);
+                beans.add(bean);
+            }
+        }
+        beans.sort(Comparator.comparingDouble((Map<String, Object> b) -> (double) b.get("selfMs")).reversed());
+
+        Map<String, Object> phaseStats = new LinkedHashMap<>();
+        phases.forEach((name, acc) -> phaseStats.put(name, Map.of("count", acc[0], "totalMs", acc[1] / 1_000_000.0)));
+        stats.put("steps", events.size());
+        stats.put("phases", phaseStats);
+        stats.put("slowestBeans", beans.subList(0, Math.min(TOP_BEANS, beans.size())));
+        return stats;
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals(key)) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static long millis(Duration duration) {
+        return duration == null ? -1 : duration.toMillis();
+    }
+}
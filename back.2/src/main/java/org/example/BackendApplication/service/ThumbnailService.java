@@ -0,0 +1,387 @@
+package org.example.BackendApplication.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.example.BackendApplication.models.StoredFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Miniaturas JPEG de las fotos subidas, generadas en un pool propio con cola acotada.
+// Se guardan junto al objeto (<sha256>-w480-o.jpg), así que el contenido repetido se procesa una vez.
+// La orientación EXIF se aplica al decodificar: las fotos de teléfono vienen de costado en el sensor.
+@Service
+public class ThumbnailService {
+
+    private final FileStorageService storageService;
+    private final int[] sizes;
+    private final float quality;
+    private final long maxPixels;
+    private final long waitMs;
+    private final ThreadPoolExecutor executor;
+    // un mismo contenido no se decodifica dos veces en paralelo
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    // caché negativa: un contenido que no se pudo decodificar no vuelve a ocupar el pool en cada pedido
+    private final Cache<String, Boolean> undecodable;
+
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong generateNanos = new AtomicLong();
+
+    public ThumbnailService(FileStorageService storageService,
+                            @Value("${file.thumbnails.sizes:160,480,1280}") int[] sizes,
+                            @Value("${file.thumbnails.quality:0.8}") float quality,
+                            @Value("${file.thumbnails.max-pixels:100000000}") long maxPixels,
+                            @Value("${file.thumbnails.wait-ms:3000}") long waitMs,
+                            @Value("${file.thumbnails.threads:0}") int threads,
+                            @Value("${file.thumbnails.queue-capacity:100}") int queueCapacity,
+                            @Value("${file.thumbnails.failure-cache-size:10000}") long failureCacheSize,
+                            @Value("${file.thumbnails.failure-ttl:1h}") Duration failureTtl) {
+        this.storageService = storageService;
+        this.sizes = Arrays.stream(sizes).sorted().toArray();
+        this.quality = quality;
+        this.maxPixels = maxPixels;
+        this.waitMs = waitMs;
+        this.undecodable = Caffeine.newBuilder()
+                .maximumSize(failureCacheSize)
+                .expireAfterWrite(failureTtl)
+                .build();
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "thumbnail-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean isImage(StoredFile file) {
+        MediaType type = MediaTypeFactory.getMediaType(file.getFilename()).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return type.getType().equals("image") && ImageIO.getImageReadersByMIMEType(type.toString()).hasNext();
+    }
+
+    // Tras una subida: se encola y se responde sin esperar; si la cola está llena se generará al pedirla
+    public void schedule(StoredFile file) {
+        if (isImage(file)) {
+            submit(file.getSha256());
+        }
+    }
+
+    // Ancho configurado más chico que cubre el pedido (o el mayor disponible)
+    public int pickSize(int requestedWidth) {
+        for (int size : sizes) {
+            if (size >= requestedWidth) {
+                return size;
+            }
+        }
+        return sizes[sizes.length - 1];
+    }
+
+    // "-o": generadas con la orientación EXIF aplicada; las "-w480.jpg" anteriores quedaron giradas
+    // y se regeneran con el nombre nuevo (se borran con el objeto, como toda variante)
+    public String derivativeTag(String sha256, int width) {
+        return sha256 + "-w" + width + "-o";
+    }
+
+    public Path derivativePath(String sha256, int width) {
+        return storageService.variantPath(sha256, "-w" + width + "-o.jpg");
+    }
+
+    // Devuelve la miniatura, generándola si hace falta; null si no se pudo a tiempo
+    public Path derivative(StoredFile file, int width) {
+        Path path = derivativePath(file.getSha256(), width);
+        if (Files.exists(path)) {
+            return path;
+        }
+        CompletableFuture<Void> job = submit(file.getSha256());
+        if (job == null) {
+            return null;
+        }
+        try {
+            job.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+        return Files.exists(path) ? path : null;
+    }
+
+    private CompletableFuture<Void> submit(String sha256) {
+        if (undecodable.getIfPresent(sha256) != null) {
+            skipped.incrementAndGet();
+            return null;
+        }
+        CompletableFuture<Void> job = new CompletableFuture<>();
+        CompletableFuture<Void> running = inFlight.putIfAbsent(sha256, job);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(sha256);
+                    job.complete(null);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    job.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(sha256, job);
+                }
+            });
+            return job;
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            inFlight.remove(sha256, job);
+            return null;
+        }
+    }
+
+    // Una sola decodificación por imagen; cada tamaño se obtiene reduciendo el anterior
+    private void generate(String sha256) throws IOException {
+        boolean missing = false;
+        for (int size : sizes) {
+            missing |= !Files.exists(derivativePath(sha256, size));
+        }
+        if (!missing) {
+            return;
+        }
+        long start = System.nanoTime();
+        BufferedImage image;
+        try {
+            image = decode(storageService.objectPath(sha256), sizes[sizes.length - 1]);
+        } catch (IOException | RuntimeException e) {
+            // mismo hash, mismos bytes: reintentar daría el mismo error hasta que venza la entrada
+            undecodable.put(sha256, Boolean.TRUE);
+            throw e;
+        }
+        for (int i = sizes.length - 1; i >= 0; i--) {
+            image = scale(image, Math.min(sizes[i], image.getWidth()));
+            Path target = derivativePath(sha256, sizes[i]);
+            if (!Files.exists(target)) {
+                write(image, target);
+            }
+        }
+        generateNanos.addAndGet(System.nanoTime() - start);
+        generated.incrementAndGet();
+    }
+
+    private BufferedImage decode(Path source, int largest) throws IOException {
+        int orientation = exifOrientation(source);
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("Formato de imagen no soportado");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Imagen demasiado grande: " + width + "x" + height);
+                }
+                // submuestreo al leer: una foto de 12MP no se decodifica completa para una miniatura.
+                // Girada 90°, el ancho que se ve es el alto guardado
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, (orientation >= 5 ? height : width) / (largest * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return orient(reader.read(0, param), orientation);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Tag Orientation (0x0112) del IFD0 en el APP1 "Exif" de un JPEG; 1 (tal cual) si no hay o no es JPEG
+    static int exifOrientation(Path source) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // el EXIF va antes de los datos de imagen (SOS): no se sigue leyendo
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker == 0xFFE1) {
+                    int orientation = orientationFromExif(in.readNBytes(length));
+                    if (orientation != 0) {
+                        return orientation;
+                    }
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (EOFException e) {
+            return 1;
+        }
+    }
+
+    // 0 si el segmento no es EXIF (un APP1 también puede ser XMP)
+    private static int orientationFromExif(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f'
+                || segment[4] != 0 || segment[5] != 0) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        try {
+            int ifd = tiff.getInt(4);
+            int entries = tiff.getShort(ifd) & 0xFFFF;
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                    int value = tiff.getShort(entry + 8) & 0xFFFF;
+                    return value >= 1 && value <= 8 ? value : 1;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // EXIF truncado: se ignora, la imagen en sí puede estar bien
+        }
+        return 1;
+    }
+
+    // Lleva la imagen a como se ve: 2-4 espejos y media vuelta, 5-8 trasponen ancho y alto
+    static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation <= 1 || orientation > 8) {
+            return image;
+        }
+        int w = image.getWidth();
+        int h = image.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            default -> new AffineTransform(0, -1, 1, 0, 0, w);
+        };
+        boolean swap = orientation >= 5;
+        BufferedImage oriented = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = oriented.createGraphics();
+        g.drawImage(image, transform, null);
+        g.dispose();
+        return oriented;
+    }
+
+    // Reducción en pasos de a la mitad con bilineal: rápido y sin el aliasing de un solo salto
+    private static BufferedImage scale(BufferedImage source, int targetWidth) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            // JPEG no tiene transparencia: fondo blanco para PNG/GIF
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(current, 0, 0, width, height, null);
+            g.dispose();
+            current = next;
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private void write(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        Path temp = Files.createTempFile(target.getParent(), "thumb", ".tmp");
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long count = generated.get();
+        stats.put("sizes", sizes);
+        stats.put("threads", executor.getPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("generated", count);
+        stats.put("rejected", rejected.get());
+        stats.put("failures", failures.get());
+        stats.put("knownUndecodable", undecodable.estimatedSize());
+        stats.put("skippedUndecodable", skipped.get());
+        stats.put("avgMs", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(generateNanos.get()) / (double) count);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.BackendApplication.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Métricas de subidas: bytes recibidos (rate() da bytes/s), tamaño por archivo, duración y subidas en curso.
+// Para distinguir si la lentitud viene del disco y no del hash o del pool de conexiones.
+@Component
+public class UploadMetrics {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter bytes;
+    private final DistributionSummary fileSize;
+    private final Timer simple;
+    private final Timer chunk;
+    private final Timer finalize;
+
+    public UploadMetrics(MeterRegistry registry) {
+        registry.gauge("uploads.in.flight", inFlight);
+        this.bytes = Counter.builder("uploads.bytes")
+                .baseUnit("bytes")
+                .description("Bytes recibidos en subidas simples y por rangos")
+                .register(registry);
+        this.fileSize = DistributionSummary.builder("uploads.file.size")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1024.0)
+                .maximumExpectedValue(2.0 * 1024 * 1024 * 1024)
+                .register(registry);
+        this.simple = timer(registry, "simple");
+        this.chunk = timer(registry, "rango");
+        this.finalize = timer(registry, "finalizar");
+    }
+
+    private static Timer timer(MeterRegistry registry, String type) {
+        return Timer.builder("uploads.duration")
+                .tag("tipo", type)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public long start() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    // Se llaman en un finally; bytes < 0 = la petición falló y no se cuentan bytes
+
+    // Subida multipart completa
+    public void simple(long startNanos, long size) {
+        finish(simple, startNanos);
+        if (size >= 0) {
+            bytes.increment(size);
+            fileSize.record(size);
+        }
+    }
+
+    // PUT de un rango de una sesión
+    public void chunk(long startNanos, long size) {
+        finish(chunk, startNanos);
+        if (size > 0) {
+            bytes.increment(size);
+        }
+    }
+
+    // Cierre de sesión: el archivo completo entra al almacenamiento
+    public void finalized(long startNanos, long size) {
+        finish(finalize, startNanos);
+        if (size >= 0) {
+            fileSize.record(size);
+        }
+    }
+
+    private void finish(Timer timer, long startNanos) {
+        inFlight.decrementAndGet();
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
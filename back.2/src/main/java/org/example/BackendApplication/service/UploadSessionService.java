@@ -0,0 +1,263 @@
+package org.example.BackendApplication.service;
+
+import jakarta.annotation.PostConstruct;
+import org.example.BackendApplication.models.dto.UploadSessionDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Subidas reanudables: cada PUT escribe un rango directo al archivo parcial, sin buffer multipart
+@Service
+public class UploadSessionService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileStorageService storageService;
+    private final Path partialDir;
+    private final long maxSize;
+    private final Duration expiry;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public UploadSessionService(FileStorageService storageService,
+                                @Value("${file.upload.max-size:2GB}") DataSize maxSize,
+                                @Value("${file.upload.session-expiry:24h}") Duration expiry) {
+        this.storageService = storageService;
+        this.partialDir = storageService.getUploadPath().resolve(".partial");
+        this.maxSize = maxSize.toBytes();
+        this.expiry = expiry;
+    }
+
+    // Las sesiones sobreviven a un reinicio: el offset es el tamaño del archivo parcial
+    @PostConstruct
+    public void loadPendingSessions() throws IOException {
+        if (!Files.isDirectory(partialDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> metas = Files.newDirectoryStream(partialDir, "*.meta")) {
+            for (Path meta : metas) {
+                Properties props = new Properties();
+                try (Reader reader = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+                    props.load(reader);
+                }
+                String id = meta.getFileName().toString().replace(".meta", "");
+                UploadSession session = new UploadSession(id, props.getProperty("filename"),
+                        Long.parseLong(props.getProperty("size")), partialDir);
+                if (Files.exists(session.data)) {
+                    session.offset = Math.min(Files.size(session.data), session.size);
+                    sessions.put(id, session);
+                } else {
+                    Files.deleteIfExists(meta);
+                }
+            }
+        }
+    }
+
+    public UploadSessionDto create(String filename, long size) throws IOException {
+        if (filename == null || filename.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nombre de archivo inválido");
+        }
+        if (size <= 0 || size > maxSize) {
+            throw new IllegalArgumentException("Tamaño inválido, máximo " + maxSize + " bytes");
+        }
+
+        Files.createDirectories(partialDir);
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), filename, size, partialDir);
+        session.digest = FileStorageService.newDigest();
+        Files.createFile(session.data);
+
+        Properties props = new Properties();
+        props.setProperty("filename", filename);
+        props.setProperty("size", String.valueOf(size));
+        try (Writer writer = Files.newBufferedWriter(session.meta, StandardCharsets.UTF_8)) {
+            props.store(writer, null);
+        }
+
+        sessions.put(session.id, session);
+        return session.toDto();
+    }
+
+    public UploadSessionDto status(String id) {
+        return find(id).toDto();
+    }
+
+    public UploadSessionDto append(String id, long start, InputStream body) throws IOException {
+        UploadSession session = find(id);
+        if (!session.lock.tryLock()) {
+            throw new IllegalStateException("Ya hay un envío en curso para esta sesión");
+        }
+        try {
+            if (start != session.offset) {
+                throw new OffsetMismatchException(session.offset);
+            }
+            session.touch();
+
+            // el canal de origen no se cierra: el stream pertenece al contenedor
+            ReadableByteChannel source = Channels.newChannel(body);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = start;
+            long hashed = start;
+            try (FileChannel channel = FileChannel.open(session.data, StandardOpenOption.WRITE)) {
+                try {
+                    while (position < session.size) {
+                        buffer.clear().limit((int) Math.min(BUFFER_SIZE, session.size - position));
+                        if (source.read(buffer) < 0) {
+                            break;
+                        }
+                        buffer.flip();
+                        while (buffer.hasRemaining()) {
+                            position += channel.write(buffer, position);
+                        }
+                        // el SHA-256 se va calculando con cada rango, así finalizar no relee el archivo
+                        if (session.digest != null) {
+                            session.digest.update(buffer.rewind());
+                            hashed = position;
+                        }
+                    }
+                } finally {
+                    // si el cliente se corta a mitad, lo recibido queda y se reanuda desde ahí
+                    if (channel.size() > position) {
+                        channel.truncate(position);
+                    }
+                    if (hashed != position) {
+                        session.digest = null;
+                    }
+                    session.offset = position;
+                }
+            }
+            if (session.offset == session.size && body.read() != -1) {
+                throw new IllegalArgumentException("El envío excede el tamaño declarado");
+            }
+            return session.toDto();
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    public String finish(String id) throws IOException {
+        UploadSession session = find(id);
+        if (!session.lock.tryLock()) {
+            throw new IllegalStateException("Ya hay un envío en curso para esta sesión");
+        }
+        try {
+            if (session.offset != session.size) {
+                throw new OffsetMismatchException(session.offset);
+            }
+            if (session.sha256 == null && session.digest != null) {
+                session.sha256 = FileStorageService.hex(session.digest.digest());
+            }
+            String filename = storageService.storeFile(session.data, session.sha256, session.filename);
+            Files.deleteIfExists(session.meta);
+            sessions.remove(id);
+            return filename;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    public void abort(String id) throws IOException {
+        UploadSession session = find(id);
+        sessions.remove(id);
+        session.delete();
+    }
+
+    @Scheduled(fixedDelayString = "${file.upload.cleanup-interval:1h}")
+    public void purgeExpired() {
+        long limit = System.currentTimeMillis() - expiry.toMillis();
+        sessions.values().removeIf(session -> {
+            if (session.lastActivity >= limit || session.lock.isLocked()) {
+                return false;
+            }
+            try {
+                session.delete();
+            } catch (IOException ignored) {
+                // se reintenta en la siguiente pasada
+                return false;
+            }
+            return true;
+        });
+    }
+
+    private UploadSession find(String id) {
+        UploadSession session = sessions.get(id);
+        if (session == null) {
+            throw new SessionNotFoundException(id);
+        }
+        return session;
+    }
+
+    private static final class UploadSession {
+        private final String id;
+        private final String filename;
+        private final long size;
+        private final Path data;
+        private final Path meta;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long offset;
+        // null tras un reinicio: el hash se calcula al finalizar
+        private MessageDigest digest;
+        private String sha256;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        UploadSession(String id, String filename, long size, Path dir) {
+            this.id = id;
+            this.filename = filename;
+            this.size = size;
+            this.data = dir.resolve(id + ".part");
+            this.meta = dir.resolve(id + ".meta");
+        }
+
+        void touch() {
+            lastActivity = System.currentTimeMillis();
+        }
+
+        void delete() throws IOException {
+            Files.deleteIfExists(data);
+            Files.deleteIfExists(meta);
+        }
+
+        UploadSessionDto toDto() {
+            return new UploadSessionDto(id, filename, size, offset);
+        }
+    }
+
+    public static class SessionNotFoundException extends RuntimeException {
+        public SessionNotFoundException(String id) {
+            super("Sesión de subida no encontrada: " + id);
+        }
+    }
+
+    public static class OffsetMismatchException extends RuntimeException {
+        private final long expectedOffset;
+
+        public OffsetMismatchException(long expectedOffset) {
+            super("Offset incorrecto, se esperaba " + expectedOffset);
+            this.expectedOffset = expectedOffset;
+        }
+
+        public long getExpectedOffset() {
+            return expectedOffset;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package org.example.BackendApplication.service;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.example.BackendApplication.models.dto.UserImportRow;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Convierte un CSV o XLSX con cabecera en filas de importación
+@Component
+public class UserImportParser {
+
+    private static final Map<String, String> HEADER_ALIASES = Map.ofEntries(
+            Map.entry("name", "name"),
+            Map.entry("nombre", "name"),
+            Map.entry("username", "username"),
+            Map.entry("usuario", "username"),
+            Map.entry("email", "email"),
+            Map.entry("correo", "email"),
+            Map.entry("password", "password"),
+            Map.entry("contraseña", "password"),
+            Map.entry("clave", "password"),
+            Map.entry("roles", "roles"),
+            Map.entry("rol", "roles")
+    );
+
+    public List<UserImportRow> parse(MultipartFile file) throws IOException {
+        String filename = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase(Locale.ROOT);
+        try (InputStream in = file.getInputStream()) {
+            if (filename.endsWith(".xlsx") || filename.endsWith(".xls")) {
+                return parseWorkbook(in);
+            }
+            if (filename.endsWith(".csv") || filename.endsWith(".txt")) {
+                return parseCsv(in);
+            }
+        }
+        throw new IllegalArgumentException("Formato no soportado, use .csv o .xlsx");
+    }
+
+    private List<UserImportRow> parseCsv(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return List.of();
+        }
+        if (headerLine.startsWith("\uFEFF")) {
+            headerLine = headerLine.substring(1);
+        }
+        // Excel en configuración regional española exporta con ';'
+        char delimiter = headerLine.indexOf(';') >= 0 && headerLine.indexOf(',') < 0 ? ';' : ',';
+        Map<Integer, String> columns = mapHeader(splitCsvLine(headerLine, delimiter));
+
+        List<UserImportRow> rows = new ArrayList<>();
+        List<String> record;
+        while ((record = readRecord(reader, delimiter)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            rows.add(toRow(columns, record));
+        }
+        return rows;
+    }
+
+    private List<UserImportRow> parseWorkbook(InputStream in) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(in)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            DataFormatter formatter = new DataFormatter();
+            Map<Integer, String> columns = null;
+            List<UserImportRow> rows = new ArrayList<>();
+
+            for (Row row : sheet) {
+                List<String> values = new ArrayList<>();
+                for (int i = 0; i < row.getLastCellNum(); i++) {
+                    Cell cell = row.getCell(i);
+                    values.add(cell == null ? "" : formatter.formatCellValue(cell));
+                }
+                if (values.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                if (columns == null) {
+                    columns = mapHeader(values);
+                } else {
+                    rows.add(toRow(columns, values));
+                }
+            }
+            return rows;
+        }
+    }
+
+    private Map<Integer, String> mapHeader(List<String> header) {
+        Map<Integer, String> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String field = HEADER_ALIASES.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (field != null) {
+                columns.put(i, field);
+            }
+        }
+        if (!columns.containsValue("username")) {
+            throw new IllegalArgumentException("La cabecera debe incluir la columna username");
+        }
+        return columns;
+    }
+
+    private UserImportRow toRow(Map<Integer, String> columns, List<String> values) {
+        UserImportRow row = new UserImportRow();
+        columns.forEach((index, field) -> {
+            String value = index < values.size() ? values.get(index).trim() : "";
+            if (value.isEmpty()) {
+                return;
+            }
+            switch (field) {
+                case "name" -> row.setName(value);
+                case "username" -> row.setUsername(value);
+                case "email" -> row.setEmail(value);
+                case "password" -> row.setPassword(value);
+                case "roles" -> row.setRoles(Arrays.stream(value.split("[;|,\\s]+"))
+                        .filter(r -> !r.isBlank())
+                        .toList());
+                default -> { }
+            }
+        });
+        return row;
+    }
+
+    // Lee un registro completo: un campo entre comillas puede traer saltos de línea (RFC 4180),
+    // así que no se puede partir por líneas. null al final del archivo.
+    private static List<String> readRecord(BufferedReader reader, char delimiter) throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (; c >= 0; c = reader.read()) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        current.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    current.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                values.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                current.append((char) c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("CSV inválido: comillas sin cerrar");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static List<String> splitCsvLine(String line, char delimiter) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,224 @@
+package org.example.BackendApplication.service;
+
+import org.example.BackendApplication.Security.service.PasswordHashingService;
+import org.example.BackendApplication.Security.service.RoleRegistry;
+import org.example.BackendApplication.models.ERole;
+import org.example.BackendApplication.models.Role;
+import org.example.BackendApplication.models.Users;
+import org.example.BackendApplication.models.dto.ImportReportDto;
+import org.example.BackendApplication.models.dto.ImportRowResultDto;
+import org.example.BackendApplication.models.dto.UserImportRow;
+import org.example.BackendApplication.repository.SequenceRepository;
+import org.example.BackendApplication.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class UserImportService {
+
+    public static final int MAX_ROWS = 10_000;
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private SequenceRepository sequenceRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LiveEventBroadcaster broadcaster;
+
+    @Autowired
+    private DataVersions dataVersions;
+
+    public ImportReportDto importUsers(List<UserImportRow> rows) {
+        if (rows.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("Máximo " + MAX_ROWS + " filas por importación");
+        }
+
+        Map<ERole, Long> roleIds = new EnumMap<>(ERole.class);
+        for (Role role : roleRegistry.all()) {
+            roleIds.put(role.getName(), role.getId());
+        }
+
+        ImportRowResultDto[] results = new ImportRowResultDto[rows.size()];
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int start = 0; start < rows.size(); start += BATCH_SIZE) {
+            int end = Math.min(start + BATCH_SIZE, rows.size());
+            importBatch(rows, start, end, roleIds, seenUsernames, seenEmails, results);
+        }
+        ImportReportDto report = new ImportReportDto(Arrays.asList(results));
+        if (report.getCreated() > 0) {
+            dataVersions.bump(DataVersions.USUARIOS);
+            broadcaster.publish(LiveEventBroadcaster.USUARIOS, Map.of("accion", "importados", "cantidad", report.getCreated()));
+        }
+        return report;
+    }
+
+    private void importBatch(List<UserImportRow> rows, int start, int end, Map<ERole, Long> roleIds,
+                             Set<String> seenUsernames, Set<String> seenEmails, ImportRowResultDto[] results) {
+        // mismas reglas que /signup, más duplicados dentro del propio archivo
+        List<Integer> candidates = new ArrayList<>();
+        Map<Integer, List<Long>> rowRoles = new HashMap<>();
+        for (int i = start; i < end; i++) {
+            UserImportRow row = rows.get(i);
+            normalize(row);
+            if (row.getEmail() == null || row.getPassword() == null || row.getUsername() == null) {
+                results[i] = ImportRowResultDto.error(i + 1, row.getUsername(), "Email, username y contraseña son requeridos.");
+                continue;
+            }
+            List<Long> ids;
+            try {
+                ids = resolveRoles(row.getRoles(), roleIds);
+            } catch (IllegalArgumentException e) {
+                results[i] = ImportRowResultDto.error(i + 1, row.getUsername(), e.getMessage());
+                continue;
+            }
+            if (!seenUsernames.add(row.getUsername())) {
+                results[i] = ImportRowResultDto.error(i + 1, row.getUsername(), "Username repetido en la importación.");
+                continue;
+            }
+            if (!seenEmails.add(row.getEmail())) {
+                results[i] = ImportRowResultDto.error(i + 1, row.getUsername(), "Correo repetido en la importación.");
+                continue;
+            }
+            rowRoles.put(i, ids);
+            candidates.add(i);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> usernames = candidates.stream().map(i -> rows.get(i).getUsername()).collect(Collectors.toSet());
+        Set<String> emails = candidates.stream().map(i -> rows.get(i).getEmail()).collect(Collectors.toSet());
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (UserRepository.Credentials existing : userRepository.findConflicts(usernames, emails)) {
+            takenUsernames.add(existing.getUsername());
+            takenEmails.add(existing.getEmail());
+        }
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i : candidates) {
+            UserImportRow row = rows.get(i);
+            if (takenUsernames.contains(row.getUsername())) {
+                results[i] = ImportRowResultDto.error(i + 1, row.getUsername(), "El nombre de usuario ya existe.");
+            } else if (takenEmails.contains(row.getEmail())) {
+                results[i] = ImportRowResultDto.error(i + 1, row.getUsername(), "El correo ya está registrado.");
+            } else {
+                accepted.add(i);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = passwordHashingService.encodeAll(
+                accepted.stream().map(i -> rows.get(i).getPassword()).toList());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(rows, accepted, hashes, rowRoles));
+            for (int i : accepted) {
+                results[i] = ImportRowResultDto.creado(i + 1, rows.get(i).getUsername());
+            }
+        } catch (RuntimeException e) {
+            for (int i : accepted) {
+                results[i] = ImportRowResultDto.error(i + 1, rows.get(i).getUsername(), "Error al guardar el lote.");
+            }
+        }
+    }
+
+    private void insertBatch(List<UserImportRow> rows, List<Integer> accepted, List<String> hashes,
+                             Map<Integer, List<Long>> rowRoles) {
+        // ids reservados por bloques de la secuencia: sin releer los usuarios para enlazar los roles
+        List<Long> ids = sequenceRepository.nextIds(Users.ID_SEQUENCE, Users.ID_ALLOCATION, accepted.size());
+
+        SqlParameterSource[] users = new SqlParameterSource[accepted.size()];
+        List<SqlParameterSource> links = new ArrayList<>();
+        for (int k = 0; k < accepted.size(); k++) {
+            UserImportRow row = rows.get(accepted.get(k));
+            Long userId = ids.get(k);
+            users[k] = new MapSqlParameterSource()
+                    .addValue("id", userId)
+                    .addValue("name", row.getName())
+                    .addValue("username", row.getUsername())
+                    .addValue("email", row.getEmail())
+                    .addValue("password", hashes.get(k));
+            for (Long roleId : rowRoles.get(accepted.get(k))) {
+                links.add(new MapSqlParameterSource()
+                        .addValue("usuarioId", userId)
+                        .addValue("rolId", roleId));
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into usuarios (id, name, username, email, password) values (:id, :name, :username, :email, :password)",
+                users);
+        jdbcTemplate.batchUpdate(
+                "insert into usuario_roles (usuario_id, rol_id) values (:usuarioId, :rolId)",
+                links.toArray(new SqlParameterSource[0]));
+    }
+
+    private static void normalize(UserImportRow row) {
+        row.setUsername(blankToNull(row.getUsername()));
+        row.setEmail(blankToNull(row.getEmail()));
+        row.setPassword(row.getPassword() == null || row.getPassword().isEmpty() ? null : row.getPassword());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static List<Long> resolveRoles(List<String> names, Map<ERole, Long> roleIds) {
+        if (names == null || names.isEmpty()) {
+            return List.of(roleId(ERole.USER, roleIds));
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String name : names) {
+            ERole role;
+            try {
+                role = ERole.valueOf(name.trim().toUpperCase().replace("ROLE_", ""));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Rol inválido: " + name);
+            }
+            ids.add(roleId(role, roleIds));
+        }
+        return new ArrayList<>(ids);
+    }
+
+    // Un rol del enum que no está en la tabla role haría un enlace con rol_id null: se rechaza la fila
+    private static Long roleId(ERole role, Map<ERole, Long> roleIds) {
+        Long id = roleIds.get(role);
+        if (id == null) {
+            throw new IllegalArgumentException("El rol " + role.name() + " no existe en la base de datos");
+        }
+        return id;
+    }
+}
@@ -1,12 +1,25 @@
 package org.example.BackendApplication.service;
 
+import org.example.BackendApplication.Security.service.TokenRevocationService;
+import org.example.BackendApplication.Security.service.UserDetailsCache;
+import org.example.BackendApplication.models.ERole;
+import org.example.BackendApplication.models.Role;
 import org.example.BackendApplication.models.Users;
+import org.example.BackendApplication.models.dto.UserPageDto;
+import org.example.BackendApplication.models.dto.UserSummaryDto;
+import org.example.BackendApplication.repository.UserQueryRepository;
 import org.example.BackendApplication.repository.UserRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService {
@@ -14,40 +27,101 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserQueryRepository userQueryRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private LiveEventBroadcaster broadcaster;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private DataVersions dataVersions;
+
 
 
 
+    // Lecturas previas a una escritura (signup, edición, borrado): transacción de escritura para leer
+    // del primario y no validar ni pisar datos con una réplica atrasada
+    @Transactional
     public Optional<Users> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
+    @Transactional
     public Optional<Users> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
     public Users saveUser(Users user) {
-        return userRepository.save(user);
+        return guardar(user, false);
     }
 
 
+    // Tras cambiar la contraseña, los tokens emitidos con la anterior dejan de valer
+    public Users guardarConNuevaPassword(Users user) {
+        return guardar(user, true);
+    }
+
+    private Users guardar(Users user, boolean revocarTokens) {
+        // Con jwt.trust-claims los roles viajan en el token: si cambian, los tokens emitidos también caducan
+        boolean revocar = revocarTokens || rolesCambiados(user);
+        Users saved = userRepository.save(user);
+        dataVersions.bump(DataVersions.USUARIOS);
+        if (revocar) {
+            tokenRevocationService.revokeAll(saved.getId());
+        }
+        userDetailsCache.evict(saved.getUsername());
+        broadcaster.publish(LiveEventBroadcaster.USUARIOS,
+                Map.of("accion", "guardado", "id", saved.getId(), "username", saved.getUsername()));
+        return saved;
+    }
+
+    private boolean rolesCambiados(Users user) {
+        // usuario nuevo, o colección sin cargar: nadie tocó los roles
+        if (user.getId() == null || !Hibernate.isInitialized(user.getRoles())) {
+            return false;
+        }
+        Set<Long> nuevos = user.getRoles() == null ? Set.of()
+                : user.getRoles().stream().map(Role::getId).collect(Collectors.toSet());
+        return !nuevos.equals(new HashSet<>(userQueryRepository.findRoleIds(user.getId())));
+    }
+
     public void deleteUser(String username) {
         try {
 
             Users existingUser = userRepository.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("Usuario no encontrado con username: " + username));
             userRepository.delete(existingUser);
+            dataVersions.bump(DataVersions.USUARIOS);
+            tokenRevocationService.revokeAll(existingUser.getId());
+            userDetailsCache.evict(username);
+            broadcaster.publish(LiveEventBroadcaster.USUARIOS, Map.of("accion", "eliminado", "username", username));
 
         } catch (Exception e) {
             throw new RuntimeException("Error al eliminar el usuario", e);
         }
     }
 
-    public List<Users> obtenerTodoslosusuarios() {
-        return userRepository.findAll();
+    // Sin readOnly a propósito: van al primario. Estos listados se sirven con el ETag de DataVersions, que
+    // sube apenas confirma el primario; leídos de una réplica atrasada, el ETag nuevo quedaría pegado a filas
+    // viejas y el cliente recibiría 304 sobre ese contenido hasta la próxima escritura.
+    @Transactional
+    public List<UserSummaryDto> obtenerTodoslosusuarios() {
+        return userQueryRepository.findAll();
+    }
+
+    @Transactional
+    public UserPageDto obtenerPagina(String q, ERole role, String sort, boolean desc, String cursor, int limit) {
+        return userQueryRepository.findPage(q, role, sort, desc, cursor, limit);
     }
 
     public Users save(Users user) {
-        return userRepository.save(user);
+        return saveUser(user);
     }
 
 }
@@ -0,0 +1,208 @@
+package org.example.BackendApplication.service.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.BackendApplication.Security.service.LoginRateLimiter;
+import org.example.BackendApplication.models.AuditAction;
+import org.example.BackendApplication.models.AuditEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Auditoría de login y cambios de usuarios. record() solo encola en un ring buffer sin locks;
+// un hilo propio lo vacía en lotes con INSERT multi-fila, así el signin no espera a la BD.
+// Con el buffer lleno (BD caída o lenta) se aplica audit.overflow:
+//   descartar -> el evento se pierde y se cuenta en audit.events{resultado=descartado} (por defecto)
+//   sincrono  -> quien registra inserta la fila él mismo (no se pierde nada, pero esa petición espera;
+//                con la BD caída, hasta el connection-timeout de Hikari, y el signin queda colgado)
+@Service
+public class AuditLog {
+
+    private static final int COLUMNS = 7;
+    // PostgreSQL admite hasta 32767 parámetros por sentencia: un lote más grande fallaría siempre
+    static final int MAX_BATCH_SIZE = 32767 / COLUMNS;
+    private static final String INSERT_PREFIX =
+            "insert into auditoria (ocurrido, accion, resultado, username, actor, ip, detalle) values ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoginRateLimiter loginRateLimiter;
+    private final MpscRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int maxAttempts;
+    private final boolean dropOnOverflow;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Counter overflowSync;
+    private final Timer batchTimer;
+    private final DistributionSummary batchRows;
+    private final AtomicLong lastError = new AtomicLong();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuditLog(JdbcTemplate jdbcTemplate,
+                    LoginRateLimiter loginRateLimiter,
+                    MeterRegistry registry,
+                    @Value("${audit.buffer-size:65536}") int bufferSize,
+                    @Value("${audit.batch-size:500}") int batchSize,
+                    @Value("${audit.flush-interval:200ms}") Duration flushInterval,
+                    @Value("${audit.max-attempts:3}") int maxAttempts,
+                    @Value("${audit.overflow:descartar}") String overflow) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.loginRateLimiter = loginRateLimiter;
+        this.buffer = new MpscRingBuffer<>(bufferSize);
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.dropOnOverflow = "descartar".equalsIgnoreCase(overflow);
+
+        registry.gauge("audit.buffer.size", buffer, MpscRingBuffer::size);
+        this.written = Counter.builder("audit.events").tag("resultado", "escrito").register(registry);
+        this.dropped = Counter.builder("audit.events").tag("resultado", "descartado").register(registry);
+        this.failed = Counter.builder("audit.events").tag("resultado", "fallido").register(registry);
+        this.overflowSync = Counter.builder("audit.events").tag("resultado", "sincrono").register(registry);
+        this.batchTimer = Timer.builder("audit.batch.write").publishPercentileHistogram().register(registry);
+        this.batchRows = DistributionSummary.builder("audit.batch.rows").register(registry);
+
+        this.writer = new Thread(this::runWriter, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // actor = usuario autenticado de la petición en curso; ip según la misma regla que el limitador de login
+    public void record(AuditAction accion, String resultado, String username, String detalle) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String actor = authentication != null && authentication.isAuthenticated()
+                && !(authentication.getPrincipal() instanceof String) ? authentication.getName() : null;
+        // el username del signin lo escribe el cliente: recortado para que una fila larga no tumbe el lote entero
+        AuditEvent event = new AuditEvent(accion, resultado, truncate(username, 255), truncate(actor, 255),
+                currentIp(), truncate(detalle, 500));
+        if (buffer.offer(event)) {
+            return;
+        }
+        if (dropOnOverflow) {
+            dropped.increment();
+            return;
+        }
+        overflowSync.increment();
+        try {
+            insert(List.of(event));
+            written.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            lastError.set(System.currentTimeMillis());
+        }
+    }
+
+    private String currentIp() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return loginRateLimiter.clientIp(request);
+        }
+        return null;
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            buffer.drainTo(batch, batchSize);
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+            // lote incompleto = el buffer quedó vacío: esperar a que se junten más eventos
+            if (running && buffer.size() < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            long start = System.nanoTime();
+            try {
+                insert(batch);
+                batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                batchRows.record(batch.size());
+                written.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                lastError.set(System.currentTimeMillis());
+                if (attempt < maxAttempts && running) {
+                    LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(attempt));
+                }
+            }
+        }
+        failed.increment(batch.size());
+    }
+
+    // Un solo INSERT con N filas: un viaje a la BD por lote en vez de uno por evento
+    private void insert(List<AuditEvent> events) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + events.size() * (ROW.length() + 2))
+                .append(INSERT_PREFIX);
+        Object[] args = new Object[events.size() * COLUMNS];
+        int i = 0;
+        for (AuditEvent event : events) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            args[i++] = Timestamp.from(event.getOcurrido());
+            args[i++] = event.getAccion().name();
+            args[i++] = event.getResultado();
+            args[i++] = event.getUsername();
+            args[i++] = event.getActor();
+            args[i++] = event.getIp();
+            args[i++] = event.getDetalle();
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> res = new LinkedHashMap<>();
+        res.put("buffered", buffer.size());
+        res.put("capacity", buffer.capacity());
+        res.put("batchSize", batchSize);
+        res.put("overflow", dropOnOverflow ? "descartar" : "sincrono");
+        res.put("written", (long) written.count());
+        res.put("dropped", (long) dropped.count());
+        res.put("failed", (long) failed.count());
+        res.put("overflowSync", (long) overflowSync.count());
+        res.put("lastErrorAt", lastError.get() == 0 ? null : lastError.get());
+        return res;
+    }
+
+    // Al apagar se escribe lo que quede en el buffer antes de cerrar el pool
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.BackendApplication.service.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Cola acotada sin locks, varios productores y un solo consumidor (ring buffer de Vyukov).
+// Cada celda tiene un número de secuencia: el productor reserva la posición con un CAS sobre tail,
+// escribe el elemento y publica la secuencia; el consumidor solo avanza cuando la secuencia indica
+// que la celda está llena. offer nunca bloquea: con el buffer lleno devuelve false.
+final class MpscRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // solo lo escribe el consumidor; volatile para size()
+    private volatile long head;
+
+    MpscRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(1, requestedCapacity - 1)) << 1;
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E element) {
+        long position = tail.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // la celda aún no la liberó el consumidor: lleno
+            } else {
+                position = tail.get(); // otro productor tomó esta posición
+            }
+        }
+        elements[index] = element;
+        // publicación con semántica release: quien lea la secuencia ve el elemento
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    // Solo desde el hilo consumidor
+    @SuppressWarnings("unchecked")
+    int drainTo(List<E> sink, int max) {
+        long position = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            sink.add((E) elements[index]);
+            elements[index] = null;
+            sequences.lazySet(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head = position;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
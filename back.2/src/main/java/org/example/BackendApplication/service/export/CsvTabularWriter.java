@@ -0,0 +1,68 @@
+package org.example.BackendApplication.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class CsvTabularWriter implements TabularWriter {
+
+    private final BufferedWriter writer;
+
+    public CsvTabularWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    @Override
+    public void header(List<String> columns) throws IOException {
+        writer.write('\uFEFF'); // BOM para que Excel detecte UTF-8
+        row(columns);
+    }
+
+    @Override
+    public void row(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCell(values.get(i));
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCell(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Number ? value.toString() : neutralizeFormula(value.toString());
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // Un texto que empieza con = + - @ (o tab / CR) Excel lo toma como fórmula al abrir el CSV:
+    // se antepone ' para que quede como texto (inyección de fórmulas en CSV)
+    private static String neutralizeFormula(String text) {
+        if (text.isEmpty()) {
+            return text;
+        }
+        char first = text.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            return "'" + text;
+        }
+        return text;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.BackendApplication.service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+// Escritura fila a fila: ninguna implementación acumula el conjunto completo en memoria
+public interface TabularWriter extends Closeable {
+
+    void header(List<String> columns) throws IOException;
+
+    void row(List<?> values) throws IOException;
+
+    static TabularWriter of(ExportFormat format, OutputStream out, String sheetName) {
+        return switch (format) {
+            case CSV -> new CsvTabularWriter(out);
+            case XLSX -> new XlsxTabularWriter(out, sheetName);
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.BackendApplication.service.export;
+
+import org.example.BackendApplication.models.dto.UserExportRow;
+import org.example.BackendApplication.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class UserExportService {
+
+    private static final List<String> COLUMNS = List.of("ID", "Nombre", "Usuario", "Email", "Roles");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Transactional(readOnly = true)
+    public void exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<UserExportRow> rows = userRepository.streamForExport();
+             TabularWriter writer = TabularWriter.of(format, out, "Usuarios")) {
+            writer.header(COLUMNS);
+            for (UserExportRow row : (Iterable<UserExportRow>) rows::iterator) {
+                writer.row(Arrays.asList(
+                        row.getId(),
+                        row.getName(),
+                        row.getUsername(),
+                        row.getEmail(),
+                        row.getRoles() == null ? "" : row.getRoles().replace(",", ";")
+                ));
+            }
+        }
+    }
+}
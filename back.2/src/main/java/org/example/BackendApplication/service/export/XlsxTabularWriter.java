@@ -0,0 +1,59 @@
+package org.example.BackendApplication.service.export;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public class XlsxTabularWriter implements TabularWriter {
+
+    // filas que SXSSF mantiene en memoria; el resto se vuelca a un archivo temporal
+    private static final int ROW_WINDOW = 200;
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private int rowIndex;
+
+    public XlsxTabularWriter(OutputStream out, String sheetName) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet(sheetName);
+    }
+
+    @Override
+    public void header(List<String> columns) {
+        row(columns);
+    }
+
+    @Override
+    public void row(List<?> values) {
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+            } else {
+                cell.setCellValue(value.toString());
+            }
+        }
+    }
+
+    // close() del workbook (POI 5.3+) también borra los temporales de SXSSF, aunque write falle
+    @Override
+    public void close() throws IOException {
+        try (workbook) {
+            workbook.write(out);
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.BackendApplication;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.support.DefaultLifecycleProcessor;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Lo que hace el entrenamiento CDS del Dockerfile (spring.context.exit=onRefresh, sin BD): crear todos los
+// singletons y cortar justo antes del arranque de lifecycle. Ningún bean puede ir a la base hasta ahí.
+class RefreshWithoutDatabaseTest {
+
+    @Test
+    void elContextoRefrescaSinBaseDeDatos(@TempDir Path uploads) {
+        SpringApplication app = new SpringApplication(BackendApplication.class);
+        // mismo punto en el que spring.context.exit=onRefresh detiene la JVM, pero con una excepción
+        app.addInitializers(context -> context.getBeanFactory().registerSingleton(
+                "lifecycleProcessor", new ExitOnRefresh()));
+
+        assertThrows(ExitOnRefresh.Reached.class, () -> app.run(
+                "--spring.datasource.url=jdbc:postgresql://127.0.0.1:1/sin-base?connectTimeout=1",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--file.uploadDir=" + uploads,
+                // el corte es esperado: sin la traza de "Application run failed" en la salida del build
+                "--logging.level.org.springframework.boot.SpringApplication=OFF"));
+    }
+
+    static class ExitOnRefresh extends DefaultLifecycleProcessor {
+
+        @Override
+        public void onRefresh() {
+            throw new Reached();
+        }
+
+        static class Reached extends RuntimeException {
+        }
+    }
+}
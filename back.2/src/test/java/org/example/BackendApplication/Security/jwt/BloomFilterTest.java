@@ -0,0 +1,28 @@
+package org.example.BackendApplication.Security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void sinFalsosNegativosYTasaDeFalsosPositivosCercaDeLaPedida() {
+        BloomFilter bloom = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloom.add("jti-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloom.mightContain("jti-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (bloom.mightContain("otro-" + i)) {
+                falsePositives++;
+            }
+        }
+        // 1% pedido; margen amplio para no depender de la distribución exacta del hash
+        assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+    }
+}
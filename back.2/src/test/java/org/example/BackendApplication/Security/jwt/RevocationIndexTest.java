@@ -0,0 +1,112 @@
+package org.example.BackendApplication.Security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationIndexTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant LATER = NOW.plusSeconds(3600);
+
+    @Test
+    void subirLaVersionRevocaLosTokensAnterioresYNuncaBaja() {
+        RevocationIndex index = new RevocationIndex(100, 0.01);
+        assertFalse(index.isRevoked(7L, 0, null));
+
+        index.updateVersion(7L, 2);
+        assertTrue(index.isRevoked(7L, 0, null));
+        assertTrue(index.isRevoked(7L, 1, null));
+        assertFalse(index.isRevoked(7L, 2, null));
+        assertFalse(index.isRevoked(8L, 0, null));
+
+        // un valor viejo (otra instancia, recarga atrasada) no deshace la revocación local
+        index.updateVersion(7L, 1);
+        index.replace(Map.of(7L, 0), Map.of(), NOW);
+        assertEquals(2, index.version(7L));
+        assertTrue(index.isRevoked(7L, 1, null));
+    }
+
+    @Test
+    void jtiRevocadoSeConfirmaConElConjuntoExactoHastaExpirar() {
+        RevocationIndex index = new RevocationIndex(100, 0.01);
+        index.revoke("jti-1", LATER);
+
+        assertTrue(index.isRevoked(1L, 0, "jti-1"));
+        assertFalse(index.isRevoked(1L, 0, "jti-2"));
+        assertEquals(1, index.stats().get("revokedTokens"));
+
+        // al recargar después de la expiración sale del conjunto y del Bloom
+        index.replace(Map.of(), Map.of(), LATER);
+        assertFalse(index.isRevoked(1L, 0, "jti-1"));
+        assertEquals(0, index.stats().get("revokedTokens"));
+    }
+
+    @Test
+    void falsoPositivoDelBloomNoRevoca() {
+        // 64 bits con cientos de jti: el Bloom queda saturado y dice "puede estar" para cualquier valor
+        RevocationIndex index = new RevocationIndex(1, 0.5);
+        for (int i = 0; i < 500; i++) {
+            index.revoke("revocado-" + i, LATER);
+        }
+
+        assertFalse(index.isRevoked(1L, 0, "nunca-revocado"));
+        assertTrue(index.isRevoked(1L, 0, "revocado-42"));
+        assertEquals(1L, index.stats().get("bloomFalsePositives"));
+        assertEquals(2L, index.stats().get("bloomHits"));
+    }
+
+    @Test
+    void consultasDuranteLaRecargaSiguenViendoLosRevocados() throws Exception {
+        RevocationIndex index = new RevocationIndex(16, 0.01);
+        Map<String, Instant> stored = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            stored.put("jti-" + i, LATER);
+        }
+        index.replace(Map.of(1L, 3), stored, NOW);
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger misses = new AtomicInteger();
+        CountDownLatch readers = new CountDownLatch(4);
+        for (int r = 0; r < 4; r++) {
+            int offset = r;
+            Thread reader = new Thread(() -> {
+                int i = offset;
+                while (!done.get()) {
+                    if (!index.isRevoked(null, 0, "jti-" + (i % 2_000)) || !index.isRevoked(1L, 2, null)) {
+                        misses.incrementAndGet();
+                    }
+                    if (index.isRevoked(1L, 3, "libre-" + i)) {
+                        misses.incrementAndGet();
+                    }
+                    i += 4;
+                }
+                readers.countDown();
+            });
+            reader.start();
+        }
+
+        // cada recarga arma un Bloom nuevo (de distinto tamaño) y lo reemplaza mientras los lectores consultan
+        for (int reload = 0; reload < 200; reload++) {
+            Map<String, Instant> more = new HashMap<>(stored);
+            more.put("extra-" + reload, LATER);
+            index.replace(Map.of(1L, 3), more, NOW);
+            index.revoke("logout-" + reload, LATER);
+        }
+        done.set(true);
+        readers.await();
+
+        assertEquals(0, misses.get());
+        assertTrue(index.isRevoked(null, 0, "logout-199"));
+        assertTrue(index.isRevoked(null, 0, "extra-0"));
+    }
+}
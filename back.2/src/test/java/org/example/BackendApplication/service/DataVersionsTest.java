@@ -0,0 +1,108 @@
+package org.example.BackendApplication.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataVersionsTest {
+
+    private final DataVersions versions = new DataVersions();
+
+    // Devuelve los encabezados de la respuesta; notModified[0] = si se armó el 304
+    private MockHttpServletResponse get(String ifNoneMatch, String ifModifiedSince, boolean[] notModified,
+                                        String... collections) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/usuarios");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        if (ifModifiedSince != null) {
+            request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        notModified[0] = versions.checkNotModified(new ServletWebRequest(request, response), collections);
+        return response;
+    }
+
+    @Test
+    void mismoEtagDa304HastaQueHayUnaEscritura() {
+        boolean[] notModified = new boolean[1];
+        String etag = get(null, null, notModified, DataVersions.USUARIOS).getHeader(HttpHeaders.ETAG);
+        assertFalse(notModified[0]);
+
+        MockHttpServletResponse cached = get(etag, null, notModified, DataVersions.USUARIOS);
+        assertTrue(notModified[0]);
+        assertEquals(304, cached.getStatus());
+
+        versions.bump(DataVersions.USUARIOS);
+        String fresh = get(etag, null, notModified, DataVersions.USUARIOS).getHeader(HttpHeaders.ETAG);
+        assertFalse(notModified[0]);
+        assertNotEquals(etag, fresh);
+    }
+
+    @Test
+    void etagCombinadoCambiaConCualquieraDeLasColecciones() {
+        boolean[] notModified = new boolean[1];
+        String etag = get(null, null, notModified, DataVersions.USUARIOS, DataVersions.ROLES).getHeader(HttpHeaders.ETAG);
+
+        versions.bump(DataVersions.ROLES);
+        get(etag, null, notModified, DataVersions.USUARIOS, DataVersions.ROLES);
+        assertFalse(notModified[0]);
+        // la otra colección sola no cambió
+        String usuarios = get(null, null, notModified, DataVersions.USUARIOS).getHeader(HttpHeaders.ETAG);
+        versions.bump(DataVersions.ROLES);
+        get(usuarios, null, notModified, DataVersions.USUARIOS);
+        assertTrue(notModified[0]);
+    }
+
+    @Test
+    void ifModifiedSinceVeUnaEscrituraEnElMismoSegundo() {
+        boolean[] notModified = new boolean[1];
+        versions.bump(DataVersions.USUARIOS);
+        String lastModified = get(null, null, notModified, DataVersions.USUARIOS).getHeader(HttpHeaders.LAST_MODIFIED);
+
+        get(null, lastModified, notModified, DataVersions.USUARIOS);
+        assertTrue(notModified[0]);
+
+        // sin esperar: el redondeo hacia arriba igual mueve Last-Modified
+        versions.bump(DataVersions.USUARIOS);
+        get(null, lastModified, notModified, DataVersions.USUARIOS);
+        assertFalse(notModified[0]);
+    }
+
+    @Test
+    void escriturasConcurrentesDanEtagsDistintos() throws Exception {
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                boolean[] notModified = new boolean[1];
+                for (int i = 0; i < 1_000; i++) {
+                    versions.bump(DataVersions.USUARIOS);
+                    seen.add(get(null, null, notModified, DataVersions.USUARIOS).getHeader(HttpHeaders.ETAG));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        boolean[] notModified = new boolean[1];
+        String last = get(null, null, notModified, DataVersions.USUARIOS).getHeader(HttpHeaders.ETAG);
+        // ningún incremento se pierde: el contador final es la cantidad de bumps
+        assertTrue(last.endsWith("-4000\""), last);
+        assertTrue(seen.size() > 1);
+    }
+}
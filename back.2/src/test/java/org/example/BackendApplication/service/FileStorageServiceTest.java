@@ -0,0 +1,144 @@
+package org.example.BackendApplication.service;
+
+import org.example.BackendApplication.repository.StoredBlobRepository;
+import org.example.BackendApplication.repository.StoredFileRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Dedup y conteo de referencias contra las tablas reales (H2); sin transacción del test, así los hilos
+// ven lo confirmado por cada operación
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // la caché de segundo nivel no aporta aquí y su proveedor JCache no arranca en el slice de JPA
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FileStorageServiceTest {
+
+    @Autowired
+    StoredBlobRepository blobRepository;
+
+    @Autowired
+    StoredFileRepository fileRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path uploads;
+
+    private FileStorageService storage(StoredFileRepository files) {
+        return storage(files, false);
+    }
+
+    private FileStorageService storage(StoredFileRepository files, boolean migrateLegacy) {
+        return new FileStorageService(uploads.toString(), migrateLegacy, DataSize.ofMegabytes(50), 10,
+                blobRepository, files, new TransactionTemplate(transactionManager));
+    }
+
+    private static String store(FileStorageService storage, String content, String name) throws Exception {
+        return storage.store(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), name);
+    }
+
+    @Test
+    void contenidoRepetidoComparteObjetoHastaBorrarElUltimoAlias() throws Exception {
+        FileStorageService storage = storage(fileRepository);
+        String first = store(storage, "mismo contenido", "a.bin");
+        String second = store(storage, "mismo contenido", "b.bin");
+        assertNotEquals(first, second);
+        String sha256 = fileRepository.findByFilename(first).orElseThrow().getSha256();
+        assertEquals(2, blobRepository.findById(sha256).orElseThrow().getRefCount());
+
+        assertTrue(storage.delete(first));
+        assertFalse(storage.delete(first));
+        assertEquals(1, blobRepository.findById(sha256).orElseThrow().getRefCount());
+        assertTrue(Files.exists(storage.objectPath(sha256)));
+
+        assertTrue(storage.delete(second));
+        assertFalse(blobRepository.existsById(sha256));
+        assertFalse(Files.exists(storage.objectPath(sha256)));
+        storage.shutdown();
+    }
+
+    @Test
+    void dosBorradosSimultaneosDelMismoAliasDescuentanUnaSolaReferencia() throws Exception {
+        // los dos hilos leen el alias antes de que cualquiera lo borre: el caso que perdía datos
+        CyclicBarrier bothRead = new CyclicBarrier(2);
+        StoredFileRepository racing = (StoredFileRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{StoredFileRepository.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(fileRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getName().equals("findByFilename") && Thread.currentThread().getName().startsWith("borrado")) {
+                        bothRead.await(10, TimeUnit.SECONDS);
+                    }
+                    return result;
+                });
+        FileStorageService storage = storage(racing);
+        String alias = store(storage, "compartido", "a.txt");
+        String other = store(storage, "compartido", "b.txt");
+        String sha256 = fileRepository.findByFilename(alias).orElseThrow().getSha256();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2, r -> new Thread(r, "borrado"));
+        try {
+            Future<Boolean> one = pool.submit(() -> storage.delete(alias));
+            Future<Boolean> two = pool.submit(() -> storage.delete(alias));
+            // solo uno quitó el alias
+            assertEquals(1, (one.get(20, TimeUnit.SECONDS) ? 1 : 0) + (two.get(20, TimeUnit.SECONDS) ? 1 : 0));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // el otro alias sigue apuntando a un contenido vivo
+        assertEquals(1, blobRepository.findById(sha256).orElseThrow().getRefCount());
+        assertTrue(fileRepository.existsByFilename(other));
+        assertTrue(Files.exists(storage.objectPath(sha256)));
+        storage.shutdown();
+    }
+
+    @Test
+    void migracionDeArchivosPlanosNoBloqueaElArranque() throws Exception {
+        Files.writeString(uploads.resolve("viejo.txt"), "contenido plano");
+        FileStorageService storage = storage(fileRepository, true);
+
+        // el listener solo lanza el hilo; el archivo termina como alias con su mismo nombre
+        storage.startLegacyMigration();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (Files.exists(uploads.resolve("viejo.txt")) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertFalse(Files.exists(uploads.resolve("viejo.txt")));
+        String sha256 = storage.findOrMigrate("viejo.txt").orElseThrow().getSha256();
+        assertEquals("contenido plano", Files.readString(storage.objectPath(sha256)));
+        storage.shutdown();
+    }
+}
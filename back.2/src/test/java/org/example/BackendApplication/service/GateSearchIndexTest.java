@@ -0,0 +1,97 @@
+package org.example.BackendApplication.service;
+
+import org.example.BackendApplication.models.Gate;
+import org.example.BackendApplication.models.dto.GateDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GateSearchIndexTest {
+
+    private static final LocalDate FECHA = LocalDate.of(2026, 1, 1);
+
+    private static Gate gate(long id, String dt) {
+        Gate gate = new Gate(dt, "Origen", "P" + id, FECHA);
+        gate.setId(id);
+        return gate;
+    }
+
+    private static GateSearchIndex index(List<Gate> gates) {
+        GateSearchIndex index = new GateSearchIndex();
+        index.startLoading();
+        index.load(gates);
+        index.finishLoading();
+        return index;
+    }
+
+    private static List<Long> ids(GateSearchIndex.SearchResult result) {
+        return result.items().stream().map(GateDto::getId).toList();
+    }
+
+    @Test
+    void paginaDesdeElCursorEnAmbosSentidos() {
+        List<Gate> gates = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            gates.add(gate(id, id % 2 == 0 ? "PAR-" + id : "IMPAR-" + id));
+        }
+        GateSearchIndex index = index(gates);
+
+        GateSearchIndex.SearchResult first = index.search("impar", null, null, false, 2, false);
+        assertEquals(List.of(1L, 3L), ids(first));
+        assertTrue(first.hasMore());
+        assertNull(first.total());
+
+        GateSearchIndex.SearchResult second = index.search("impar", null, first.nextAfterId(), false, 2, false);
+        assertEquals(List.of(5L, 7L), ids(second));
+
+        GateSearchIndex.SearchResult last = index.search("impar", null, second.nextAfterId(), false, 2, true);
+        assertEquals(List.of(9L), ids(last));
+        assertFalse(last.hasMore());
+        assertNull(last.nextAfterId());
+        assertEquals(5, last.total());
+        assertFalse(last.totalCapped());
+
+        GateSearchIndex.SearchResult desc = index.search("", null, 6L, true, 3, false);
+        assertEquals(List.of(5L, 4L, 3L), ids(desc));
+        assertTrue(desc.hasMore());
+    }
+
+    @Test
+    void consultaCortaSinCoincidenciasCortaPorTopeDeRecorrido() {
+        List<Gate> gates = new ArrayList<>();
+        int size = GateSearchIndex.SCAN_BUDGET + 10;
+        for (long id = 1; id <= size; id++) {
+            gates.add(gate(id, id == size ? "ZQ" : "DT-" + id));
+        }
+        GateSearchIndex index = index(gates);
+
+        GateSearchIndex.SearchResult partial = index.search("zq", null, null, false, 20, true);
+        assertTrue(partial.items().isEmpty());
+        assertTrue(partial.hasMore());
+        assertEquals(GateSearchIndex.SCAN_BUDGET, partial.nextAfterId());
+        assertEquals(0, partial.total());
+        assertTrue(partial.totalCapped());
+
+        GateSearchIndex.SearchResult rest = index.search("zq", null, partial.nextAfterId(), false, 20, false);
+        assertEquals(List.of((long) size), ids(rest));
+        assertFalse(rest.hasMore());
+    }
+
+    @Test
+    void totalSeCuentaHastaElTope() {
+        List<Gate> gates = new ArrayList<>();
+        for (long id = 1; id <= GateSearchIndex.MAX_TOTAL + 5; id++) {
+            gates.add(gate(id, "DT-" + id));
+        }
+        GateSearchIndex.SearchResult result = index(gates).search("dt-", null, null, false, 10, true);
+        assertEquals(GateSearchIndex.MAX_TOTAL, result.total());
+        assertTrue(result.totalCapped());
+    }
+}
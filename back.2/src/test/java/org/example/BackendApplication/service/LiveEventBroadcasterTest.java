@@ -0,0 +1,146 @@
+package org.example.BackendApplication.service;
+
+import org.example.BackendApplication.controller.LiveEventController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Suscripciones reales contra el controlador (MockMvc standalone): lo escrito por los hilos sse-writer
+// queda en el cuerpo de la respuesta mock
+class LiveEventBroadcasterTest {
+
+    private static final Pattern ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    private LiveEventBroadcaster broadcaster;
+    private MockMvc mockMvc;
+
+    private void setUp(int bufferSize, int maxSubscribers, int historySize) {
+        broadcaster = new LiveEventBroadcaster(bufferSize, maxSubscribers, historySize, Duration.ofMinutes(5), 2);
+        LiveEventController controller = new LiveEventController();
+        ReflectionTestUtils.setField(controller, "broadcaster", broadcaster);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    private MockHttpServletResponse subscribe(String topics, String lastEventId) throws Exception {
+        var builder = get("/api/events");
+        if (topics != null) {
+            builder.param("topics", topics);
+        }
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return result.getResponse();
+    }
+
+    private static List<Long> awaitIds(MockHttpServletResponse response, int count) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        List<Long> ids;
+        do {
+            ids = new ArrayList<>();
+            Matcher matcher = ID.matcher(response.getContentAsString());
+            while (matcher.find()) {
+                ids.add(Long.valueOf(matcher.group(1)));
+            }
+            if (ids.size() >= count) {
+                return ids;
+            }
+            Thread.sleep(10);
+        } while (System.nanoTime() < deadline);
+        return ids;
+    }
+
+    @Test
+    void cadaSuscriptorRecibeSoloSusTopicosEnOrden() throws Exception {
+        setUp(64, 10, 32);
+        MockHttpServletResponse gates = subscribe("gates", null);
+        MockHttpServletResponse all = subscribe(null, null);
+
+        broadcaster.publish(LiveEventBroadcaster.DASHBOARD, Map.of("n", 1));
+        broadcaster.publish(LiveEventBroadcaster.GATES, Map.of("n", 2));
+        broadcaster.publish(LiveEventBroadcaster.USUARIOS, Map.of("n", 3));
+        broadcaster.publish(LiveEventBroadcaster.GATES, Map.of("n", 4));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), awaitIds(all, 4));
+        assertEquals(List.of(2L, 4L), awaitIds(gates, 2));
+        assertFalse(gates.getContentAsString().contains("event:dashboard"));
+        assertTrue(gates.getContentAsString().startsWith("event:conectado"));
+    }
+
+    @Test
+    void reanudaDesdeLastEventIdConElHistorial() throws Exception {
+        setUp(64, 10, 32);
+        for (int i = 1; i <= 5; i++) {
+            broadcaster.publish(LiveEventBroadcaster.GATES, Map.of("n", i));
+        }
+
+        MockHttpServletResponse resumed = subscribe("gates", "3");
+        assertEquals(List.of(4L, 5L), awaitIds(resumed, 2));
+
+        broadcaster.publish(LiveEventBroadcaster.GATES, Map.of("n", 6));
+        assertEquals(List.of(4L, 5L, 6L), awaitIds(resumed, 3));
+    }
+
+    @Test
+    void variosPublicadoresLleganCompletosYSinDesorden() throws Exception {
+        setUp(10_000, 10, 32);
+        MockHttpServletResponse response = subscribe(null, null);
+
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            publishers.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    broadcaster.publish(LiveEventBroadcaster.DASHBOARD, Map.of("n", i));
+                }
+            }));
+        }
+        publishers.forEach(Thread::start);
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        List<Long> ids = awaitIds(response, 2_000);
+        assertEquals(2_000, ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i + 1, ids.get(i));
+        }
+        assertEquals(2_000L, broadcaster.stats().get("published"));
+    }
+
+    @Test
+    void alLlegarAlMaximoDeSuscriptoresResponde503() throws Exception {
+        setUp(64, 1, 32);
+        subscribe(null, null);
+
+        mockMvc.perform(get("/api/events")).andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void topicoInvalidoResponde400() throws Exception {
+        setUp(64, 10, 32);
+        mockMvc.perform(get("/api/events").param("topics", "otro")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.BackendApplication.service;
+
+import org.example.BackendApplication.models.StoredFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThumbnailServiceTest {
+
+    @TempDir
+    Path uploads;
+
+    private FileStorageService storage;
+    private ThumbnailService thumbnails;
+
+    private ThumbnailService thumbnails() {
+        // solo se usan las rutas de objetos y variantes: sin repositorios
+        storage = new FileStorageService(uploads.toString(), false, DataSize.ofMegabytes(50), 10, null, null, null);
+        thumbnails = new ThumbnailService(storage, new int[]{16, 32}, 0.9f, 100_000_000, 5000, 1, 10,
+                100, Duration.ofHours(1));
+        return thumbnails;
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (thumbnails != null) {
+            thumbnails.shutdown();
+            storage.shutdown();
+        }
+    }
+
+    private StoredFile object(String sha256, byte[] content) throws Exception {
+        Path object = storage.objectPath(sha256);
+        Files.createDirectories(object.getParent());
+        Files.write(object, content);
+        return new StoredFile("foto.jpg", "foto.jpg", sha256, content.length);
+    }
+
+    // 64x32: mitad izquierda roja, mitad derecha azul
+    private static BufferedImage landscape() {
+        BufferedImage image = new BufferedImage(64, 32, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 32, 32);
+        g.setColor(Color.BLUE);
+        g.fillRect(32, 0, 32, 32);
+        g.dispose();
+        return image;
+    }
+
+    // JPEG con un APP1 Exif (TIFF big-endian, un solo tag Orientation) justo después del SOI
+    private static byte[] jpegWithOrientation(BufferedImage image, int orientation) throws Exception {
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", jpeg);
+        byte[] plain = jpeg.toByteArray();
+
+        ByteBuffer exif = ByteBuffer.allocate(6 + 8 + 2 + 12 + 4);
+        exif.put(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        exif.put(new byte[]{'M', 'M', 0, 42}).putInt(8);
+        exif.putShort((short) 1);
+        exif.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        exif.putInt(0);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(plain, 0, 2);
+        out.write(0xFF);
+        out.write(0xE1);
+        int length = exif.capacity() + 2;
+        out.write(length >> 8);
+        out.write(length & 0xFF);
+        out.write(exif.array());
+        out.write(plain, 2, plain.length - 2);
+        return out.toByteArray();
+    }
+
+    private static boolean reddish(int rgb) {
+        Color c = new Color(rgb);
+        return c.getRed() > 150 && c.getBlue() < 100;
+    }
+
+    @Test
+    void leeLaOrientacionDelExif() throws Exception {
+        Path rotated = uploads.resolve("rotada.jpg");
+        Files.write(rotated, jpegWithOrientation(landscape(), 6));
+        assertEquals(6, ThumbnailService.exifOrientation(rotated));
+
+        Path plain = uploads.resolve("plana.jpg");
+        ImageIO.write(landscape(), "jpeg", plain.toFile());
+        assertEquals(1, ThumbnailService.exifOrientation(plain));
+
+        Path png = uploads.resolve("imagen.png");
+        ImageIO.write(landscape(), "png", png.toFile());
+        assertEquals(1, ThumbnailService.exifOrientation(png));
+    }
+
+    @Test
+    void orientacionSeisGiraNoventaGradosHorario() {
+        BufferedImage oriented = ThumbnailService.orient(landscape(), 6);
+        assertEquals(32, oriented.getWidth());
+        assertEquals(64, oriented.getHeight());
+        // la izquierda (roja) queda arriba
+        assertTrue(reddish(oriented.getRGB(16, 8)));
+        assertFalse(reddish(oriented.getRGB(16, 56)));
+
+        BufferedImage left = ThumbnailService.orient(landscape(), 8);
+        assertTrue(reddish(left.getRGB(16, 56)));
+
+        BufferedImage mirrored = ThumbnailService.orient(landscape(), 2);
+        assertEquals(64, mirrored.getWidth());
+        assertTrue(reddish(mirrored.getRGB(56, 16)));
+    }
+
+    @Test
+    void miniaturaDeFotoDeTelefonoSaleDerecha() throws Exception {
+        ThumbnailService thumbnails = thumbnails();
+        StoredFile file = object("ab" + "0".repeat(62), jpegWithOrientation(landscape(), 6));
+
+        Path derivative = thumbnails.derivative(file, 16);
+        assertNotNull(derivative);
+        BufferedImage thumb = ImageIO.read(derivative.toFile());
+        assertEquals(16, thumb.getWidth());
+        assertEquals(32, thumb.getHeight());
+        assertTrue(reddish(thumb.getRGB(8, 4)));
+    }
+
+    @Test
+    void unFalloDeDecodificacionNoSeReintenta() throws Exception {
+        ThumbnailService thumbnails = thumbnails();
+        StoredFile file = object("cd" + "0".repeat(62), "no es una imagen".getBytes());
+
+        assertNull(thumbnails.derivative(file, 16));
+        assertNull(thumbnails.derivative(file, 32));
+        thumbnails.schedule(file);
+
+        assertEquals(1L, thumbnails.stats().get("failures"));
+        assertEquals(1L, thumbnails.stats().get("knownUndecodable"));
+        assertEquals(2L, thumbnails.stats().get("skippedUndecodable"));
+    }
+}
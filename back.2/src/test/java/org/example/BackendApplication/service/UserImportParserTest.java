@@ -0,0 +1,52 @@
+package org.example.BackendApplication.service;
+
+import org.example.BackendApplication.models.dto.UserImportRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UserImportParserTest {
+
+    private final UserImportParser parser = new UserImportParser();
+
+    private List<UserImportRow> parse(String csv) throws IOException {
+        return parser.parse(new MockMultipartFile("file", "usuarios.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void campoEntreComillasConSaltoDeLineaNoCorreLasFilasSiguientes() throws IOException {
+        List<UserImportRow> rows = parse("nombre,username,email,password\n"
+                + "\"Ana\nMaría\",ana,ana@x.com,clave1\n"
+                + "\"Luis \"\"Lucho\"\"\",luis,luis@x.com,clave2\r\n"
+                + ",pedro,pedro@x.com,clave3\n");
+
+        assertEquals(3, rows.size());
+        assertEquals("Ana\nMaría", rows.get(0).getName());
+        assertEquals("ana", rows.get(0).getUsername());
+        assertEquals("Luis \"Lucho\"", rows.get(1).getName());
+        assertEquals("luis@x.com", rows.get(1).getEmail());
+        assertEquals("pedro", rows.get(2).getUsername());
+        assertEquals("clave3", rows.get(2).getPassword());
+    }
+
+    @Test
+    void separadorPuntoYComaYLineasEnBlanco() throws IOException {
+        List<UserImportRow> rows = parse("﻿usuario;correo;rol\r\n\r\nana;ana@x.com;ADMIN USER\r\n");
+
+        assertEquals(1, rows.size());
+        assertEquals("ana@x.com", rows.get(0).getEmail());
+        assertEquals(List.of("ADMIN", "USER"), rows.get(0).getRoles());
+    }
+
+    @Test
+    void comillasSinCerrarEsError() {
+        assertThrows(IllegalArgumentException.class, () -> parse("username,email\n\"ana,ana@x.com\n"));
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.BackendApplication.service.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.BackendApplication.models.AuditAction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditLogTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditLog auditLog;
+
+    @BeforeEach
+    void createTable() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table auditoria (id bigint auto_increment primary key, ocurrido timestamp,"
+                + " accion varchar(40), resultado varchar(40), username varchar(255), actor varchar(255),"
+                + " ip varchar(64), detalle varchar(500))");
+    }
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        if (auditLog != null) {
+            auditLog.shutdown();
+        }
+    }
+
+    private AuditLog auditLog(JdbcTemplate jdbc, int bufferSize, int batchSize, String overflow) {
+        return new AuditLog(jdbc, null, new SimpleMeterRegistry(), bufferSize, batchSize,
+                Duration.ofMillis(5), 1, overflow);
+    }
+
+    private int rows() {
+        return jdbcTemplate.queryForObject("select count(*) from auditoria", Integer.class);
+    }
+
+    @Test
+    void eventosDeVariosHilosQuedanEscritosAlApagar() throws Exception {
+        auditLog = auditLog(jdbcTemplate, 4096, 100, "sincrono");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    auditLog.record(AuditAction.SIGNIN, "ok", "user-" + thread + "-" + i, null);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // shutdown vacía lo que quede en el buffer antes de volver
+        auditLog.shutdown();
+
+        assertEquals(2_000, rows());
+        assertEquals(2_000L, auditLog.stats().get("written"));
+        assertEquals(0, auditLog.stats().get("buffered"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from auditoria where accion <> 'SIGNIN' or resultado <> 'ok'", Integer.class));
+    }
+
+    @Test
+    void textosLargosSeRecortanSinTumbarElLote() throws Exception {
+        auditLog = auditLog(jdbcTemplate, 16, 10, "sincrono");
+        auditLog.record(AuditAction.SIGNIN, "credenciales", "x".repeat(1_000), "d".repeat(2_000));
+        auditLog.record(AuditAction.LOGOUT, "ok", "ana", null);
+        auditLog.shutdown();
+
+        assertEquals(2, rows());
+        assertEquals(255, jdbcTemplate.queryForObject(
+                "select length(username) from auditoria where accion = 'SIGNIN'", Integer.class));
+        assertEquals(500, jdbcTemplate.queryForObject(
+                "select length(detalle) from auditoria where accion = 'SIGNIN'", Integer.class));
+    }
+
+    @Test
+    void loteLimitadoPorLosParametrosDePostgres() {
+        auditLog = auditLog(jdbcTemplate, 16, 100_000, "sincrono");
+        assertEquals(AuditLog.MAX_BATCH_SIZE, auditLog.stats().get("batchSize"));
+        assertTrue(AuditLog.MAX_BATCH_SIZE * 7 <= 32767);
+    }
+
+    @Test
+    void conElBufferLlenoSincronoInsertaDesdeQuienRegistra() throws Exception {
+        BlockingJdbcTemplate blocking = new BlockingJdbcTemplate(jdbcTemplate);
+        auditLog = auditLog(blocking, 2, 10, "sincrono");
+
+        fillWhileWriterBlocked(blocking);
+        // buffer lleno: este evento lo escribe el hilo del test, no el escritor (que sigue bloqueado)
+        auditLog.record(AuditAction.SIGNIN, "ok", "sincrono", null);
+        assertEquals(1, rows());
+        assertEquals(1L, auditLog.stats().get("overflowSync"));
+
+        blocking.release.countDown();
+        auditLog.shutdown();
+        assertEquals(4, rows());
+        assertEquals(0L, auditLog.stats().get("dropped"));
+    }
+
+    @Test
+    void conElBufferLlenoDescartarPierdeElEventoYLoCuenta() throws Exception {
+        BlockingJdbcTemplate blocking = new BlockingJdbcTemplate(jdbcTemplate);
+        auditLog = auditLog(blocking, 2, 10, "descartar");
+
+        fillWhileWriterBlocked(blocking);
+        auditLog.record(AuditAction.SIGNIN, "ok", "descartado", null);
+        assertEquals(1L, auditLog.stats().get("dropped"));
+
+        blocking.release.countDown();
+        auditLog.shutdown();
+        assertEquals(3, rows());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from auditoria where username = 'descartado'", Integer.class));
+    }
+
+    // El escritor toma el primer evento y queda bloqueado en el insert; después se llenan las 2 celdas
+    private void fillWhileWriterBlocked(BlockingJdbcTemplate blocking) throws InterruptedException {
+        auditLog.record(AuditAction.SIGNIN, "ok", "primero", null);
+        assertTrue(blocking.entered.await(10, TimeUnit.SECONDS));
+        auditLog.record(AuditAction.SIGNIN, "ok", "segundo", null);
+        auditLog.record(AuditAction.SIGNIN, "ok", "tercero", null);
+        assertEquals(2, auditLog.stats().get("buffered"));
+    }
+
+    // Bloquea solo al hilo audit-writer, para simular una BD lenta sin frenar el insert sincrónico
+    private static final class BlockingJdbcTemplate extends JdbcTemplate {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private BlockingJdbcTemplate(JdbcTemplate target) {
+            super(target.getDataSource());
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (Thread.currentThread().getName().equals("audit-writer")) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.update(sql, args);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.BackendApplication.service.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MpscRingBufferTest {
+
+    @Test
+    void capacidadRedondeadaAPotenciaDeDos() {
+        assertEquals(8, new MpscRingBuffer<Integer>(5).capacity());
+        assertEquals(8, new MpscRingBuffer<Integer>(8).capacity());
+        assertEquals(2, new MpscRingBuffer<Integer>(2).capacity());
+        assertEquals(2, new MpscRingBuffer<Integer>(1).capacity());
+    }
+
+    @Test
+    void conElBufferLlenoOfferDevuelveFalseHastaQueSeVacie() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(99));
+        assertEquals(4, buffer.size());
+
+        List<Integer> sink = new ArrayList<>();
+        assertEquals(1, buffer.drainTo(sink, 1));
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(100));
+
+        assertEquals(4, buffer.drainTo(sink, 10));
+        assertEquals(List.of(0, 1, 2, 3, 4), sink);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void daVariasVueltasAlAnilloSinPerderElOrden() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        List<Integer> sink = new ArrayList<>();
+        int next = 0;
+        // 3 de a 3 sobre 4 celdas: las posiciones van cayendo en todos los desplazamientos posibles
+        for (int round = 0; round < 1_000; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            buffer.drainTo(sink, round % 2 == 0 ? 2 : 4);
+        }
+        buffer.drainTo(sink, Integer.MAX_VALUE);
+
+        assertEquals(next, sink.size());
+        for (int i = 0; i < sink.size(); i++) {
+            assertEquals(i, sink.get(i));
+        }
+    }
+
+    @Test
+    void variosProductoresConUnConsumidorNoPierdenNiDuplican() throws Exception {
+        int producers = 4;
+        int perProducer = 100_000;
+        MpscRingBuffer<Long> buffer = new MpscRingBuffer<>(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p << 32;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    // buffer chico: con el consumidor atrasado offer falla y se reintenta
+                    while (!buffer.offer(base | i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        int[] nextPerProducer = new int[producers];
+        List<Long> sink = new ArrayList<>(256);
+        int received = 0;
+        long deadline = System.nanoTime() + 60_000_000_000L;
+        while (received < producers * perProducer && System.nanoTime() < deadline) {
+            sink.clear();
+            buffer.drainTo(sink, 256);
+            for (long value : sink) {
+                int producer = (int) (value >>> 32);
+                int sequence = (int) value;
+                // el orden de cada productor se conserva: cualquier pérdida o duplicado rompe la secuencia
+                assertEquals(nextPerProducer[producer], sequence);
+                nextPerProducer[producer]++;
+            }
+            received += sink.size();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * perProducer, received);
+        assertEquals(0, buffer.size());
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.BackendApplication.service.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvTabularWriterTest {
+
+    private static String write(Object... values) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvTabularWriter writer = new CsvTabularWriter(out)) {
+            writer.row(Arrays.asList(values));
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void neutralizaTextosQueExcelTomaComoFormula() throws IOException {
+        assertEquals("'=1+1,'+1,'-2,'@SUM(A1)\r\n", write("=1+1", "+1", "-2", "@SUM(A1)"));
+        assertEquals("'\tx\r\n", write("\tx"));
+    }
+
+    @Test
+    void numerosNegativosYTextoNormalQuedanIguales() throws IOException {
+        assertEquals("-5,ana,,\"a,b\"\r\n", write(-5, "ana", null, "a,b"));
+    }
+
+    @Test
+    void formulaConComillasSigueEntreComillas() throws IOException {
+        assertEquals("\"'=\"\"x\"\"\"\r\n", write("=\"x\""));
+    }
+}